@@ -0,0 +1,155 @@
+package com.pixele;
+
+import net.minecraft.resources.ResourceLocation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Stress benchmark for the EMC registration pipeline against synthetic registries.
+ *
+ * Runs {@link PixelEMapper#registerAll} in-process with stand-ins for BuiltInRegistries.ITEM
+ * (a hash set of keys) and InterModComms (a lock-free queue of message suppliers that is drained
+ * afterwards, as ProjectE would on IMC processing), followed by the miss diagnosis pass.
+ * Reports wall time, allocated bytes and peak heap for each registry size x table size.
+ *
+ * Usage: ./gradlew benchmark [-Pregistries=1000,10000] [-Ptables=1000,5000] [-PpixelmonShare=0.2]
+ */
+public class RegistrationBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    // Fraction of table entries that resolve to a real item, the rest exercise the miss path
+    private static final double HIT_RATE = 0.9;
+
+    public static void main(String[] args) {
+        int[] registrySizes = parseSizes(args.length > 0 ? args[0] : "1000,10000,50000,200000");
+        int[] tableSizes = parseSizes(args.length > 1 ? args[1] : "1000,5000,20000,50000");
+        double pixelmonShare = args.length > 2 ? Double.parseDouble(args[2]) : 0.2;
+
+        System.out.printf("Pixelmon share of registry: %.0f%%, table hit rate: %.0f%%%n",
+                pixelmonShare * 100, HIT_RATE * 100);
+        System.out.printf("%10s %10s %10s %12s %14s %12s %10s%n",
+                "registry", "table", "sent", "time (ms)", "alloc (MB)", "alloc MB/s", "peak (MB)");
+
+        for (int registrySize : registrySizes) {
+            SyntheticRegistry registry = new SyntheticRegistry(registrySize, pixelmonShare);
+            for (int tableSize : tableSizes) {
+                run(registry, tableSize);
+            }
+        }
+    }
+
+    private static void run(SyntheticRegistry registry, int tableSize) {
+        String[] itemIds = new String[tableSize];
+        long[] emcValues = new long[tableSize];
+        int pixelmonCount = Math.max(1, registry.pixelmonCount);
+        for (int i = 0; i < tableSize; i++) {
+            boolean hit = i < tableSize * HIT_RATE;
+            itemIds[i] = hit ? "item_" + (i % pixelmonCount) : "missing_item_" + i;
+            emcValues[i] = 64L << (i % 14);
+        }
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runOnce(registry, itemIds, emcValues);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+
+        int sent = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            sent = runOnce(registry, itemIds, emcValues);
+        }
+
+        long elapsed = (System.nanoTime() - start) / MEASURED_ROUNDS;
+        long allocated = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / MEASURED_ROUNDS;
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+
+        double millis = elapsed / 1e6;
+        double allocatedMb = allocated / (1024.0 * 1024.0);
+        System.out.printf("%10d %10d %10d %12.2f %14.2f %12.1f %10.1f%n",
+                registry.keys.size(), tableSize, sent, millis, allocatedMb,
+                millis > 0 ? allocatedMb / (millis / 1000) : 0, peak / (1024.0 * 1024.0));
+    }
+
+    private static int runOnce(SyntheticRegistry registry, String[] itemIds, long[] emcValues) {
+        Queue<Supplier<?>> imcQueue = new ConcurrentLinkedQueue<>();
+        List<String> missing = new ArrayList<>();
+        int sent = PixelEMapper.registerAll(itemIds, emcValues, registry,
+                (itemId, emcValue) -> imcQueue.add(() -> new PixelEMapper.EMCMessage(itemId, emcValue)), missing);
+
+        // Drain the queue the way ProjectE consumes IMC messages
+        long checksum = 0;
+        for (Supplier<?> message; (message = imcQueue.poll()) != null; ) {
+            checksum += ((PixelEMapper.EMCMessage) message.get()).emcValue();
+        }
+
+        if (!missing.isEmpty()) {
+            PixelEDiagnostics diagnostics = new PixelEDiagnostics(PixelEMapper.namespaceIds(registry));
+            for (String id : missing) {
+                checksum += diagnostics.suggest(id).size();
+            }
+        }
+
+        return checksum == Long.MIN_VALUE ? -1 : sent;
+    }
+
+    private static int[] parseSizes(String csv) {
+        String[] parts = csv.split(",");
+        int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            sizes[i] = Integer.parseInt(parts[i].trim());
+        }
+        return sizes;
+    }
+
+    /**
+     * Stand-in for BuiltInRegistries.ITEM: a hashed key set spread over a number of mod namespaces.
+     */
+    private static class SyntheticRegistry implements PixelEMapper.ItemLookup {
+        private final Set<ResourceLocation> keys;
+        private final int pixelmonCount;
+
+        SyntheticRegistry(int size, double pixelmonShare) {
+            this.keys = new HashSet<>(size * 2);
+            this.pixelmonCount = (int) (size * pixelmonShare);
+            for (int i = 0; i < size; i++) {
+                String namespace = i < pixelmonCount ? "pixelmon" : "mod" + (i % 400);
+                keys.add(ResourceLocation.fromNamespaceAndPath(namespace, "item_" + i));
+            }
+        }
+
+        @Override
+        public boolean contains(ResourceLocation itemId) {
+            return keys.contains(itemId);
+        }
+
+        @Override
+        public Iterable<ResourceLocation> keys() {
+            return keys;
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.pixele;
 
+import net.minecraft.server.MinecraftServer;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.ModList;
 import net.neoforged.fml.common.Mod;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.neoforged.fml.event.lifecycle.InterModEnqueueEvent;
+import net.neoforged.fml.loading.FMLEnvironment;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.OnDatapackSyncEvent;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+import net.neoforged.neoforge.event.server.ServerStartedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,12 +27,26 @@ public class PixelEBridge {
     public static final String MOD_ID = "pixele";
     public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
     
+    // Set by the exploitCheck Gradle run: scan recipes once the server is up, then exit
+    private static final boolean HEADLESS_EXPLOIT_CHECK = Boolean.getBoolean("pixele.exploitCheck");
+    
     public PixelEBridge(IEventBus modEventBus) {
         LOGGER.info("PixelE Bridge initializing...");
         
         // Register lifecycle event listeners
         modEventBus.addListener(this::onCommonSetup);
         modEventBus.addListener(this::onInterModEnqueue);
+        
+        // Register game event listeners
+        NeoForge.EVENT_BUS.addListener(this::onRegisterCommands);
+        NeoForge.EVENT_BUS.addListener(this::onServerStarted);
+        NeoForge.EVENT_BUS.addListener(this::onDatapackSync);
+        PixelEKnowledge.register();
+        
+        // Tooltip cache listeners reference client-only events
+        if (FMLEnvironment.dist.isClient()) {
+            PixelETooltips.register();
+        }
     }
     
     /**
@@ -42,6 +62,17 @@ public class PixelEBridge {
         
         if (pixelmonLoaded && projecteLoaded) {
             LOGGER.info("Both Pixelmon and ProjectE detected. EMC integration enabled.");
+            
+            // Registries are frozen by now; index them for the public lookup API.
+            // In fast startup mode the index is built lazily on first lookup instead.
+            if (!PixelEStartup.FAST_STARTUP) {
+                event.enqueueWork(PixelEEMCService::buildIndex);
+            }
+            
+            // Load the shared table, if configured, before the IMC values are sent
+            PixelESharedTable.start();
+            
+            PixelEStartup.defer("invariant check", () -> PixelEValidator.report(PixelEValidator.validate()));
         } else {
             if (!pixelmonLoaded) {
                 LOGGER.warn("Pixelmon not detected! PixelE Bridge requires Pixelmon to function.");
@@ -72,4 +103,67 @@ public class PixelEBridge {
             LOGGER.error("PixelE Bridge: Failed to register EMC values!", e);
         }
     }
+    
+    /**
+     * Registers the /pixele command tree.
+     */
+    private void onRegisterCommands(RegisterCommandsEvent event) {
+        PixelECommands.register(event.getDispatcher());
+    }
+    
+    /**
+     * Called once the server is fully started and recipes are loaded.
+     * Writes the EMC merge report, indexes loot table yields and runs the headless exploit check when requested.
+     * In fast startup mode the reports and everything deferred during loading run in the background.
+     */
+    private void onServerStarted(ServerStartedEvent event) {
+        MinecraftServer server = event.getServer();
+        PixelEStartup.defer("merge report", () -> PixelEMerge.reportAfterStart(server));
+        PixelEStartup.defer("loot index", () -> PixelELoot.recompute(server));
+        PixelEStartup.defer("adaptive IMC refresh", () -> PixelEDispatch.refreshAfterStart(server));
+        PixelEStartup.runDeferred();
+        
+        if (!HEADLESS_EXPLOIT_CHECK) {
+            return;
+        }
+        
+        int found = PixelEExploits.report(PixelEExploits.scan(event.getServer()));
+        if (found > 0) {
+            LOGGER.error("PixelE Bridge: exploit check failed with {} net-positive recipes.", found);
+        } else {
+            LOGGER.info("PixelE Bridge: exploit check passed, stopping server.");
+        }
+        exitAfterStop(server, found > 0 ? 1 : 0);
+    }
+    
+    /**
+     * Stops the server normally, then exits with the given status once the server thread has finished.
+     * Exiting on the server thread itself would deadlock: the shutdown hook halts the server and joins that thread.
+     */
+    private static void exitAfterStop(MinecraftServer server, int status) {
+        Thread serverThread = server.getRunningThread();
+        server.halt(false);
+        if (status == 0) {
+            return;
+        }
+        Thread exit = new Thread(() -> {
+            try {
+                serverThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            System.exit(status);
+        }, "PixelE Exploit Check Exit");
+        exit.start();
+    }
+    
+    /**
+     * Called after /reload (without a player) and when a player joins (with one).
+     * Only a reload can change loot tables, so only then is the loot index refreshed.
+     */
+    private void onDatapackSync(OnDatapackSyncEvent event) {
+        if (event.getPlayer() == null) {
+            PixelELoot.recompute(event.getPlayerList().getServer());
+        }
+    }
 }
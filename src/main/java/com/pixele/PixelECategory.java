@@ -0,0 +1,44 @@
+package com.pixele;
+
+/**
+ * Sections of the EMC table. Each entry in {@link PixelEMapper} is tagged with one of these,
+ * and its effective EMC is its base value times the category's multiplier.
+ */
+public enum PixelECategory {
+    APRICORNS,
+    RAW_ORES,
+    PROCESSED_MATERIALS,
+    BALL_PARTS,
+    POKE_BALLS,
+    EVOLUTION_STONES,
+    EVOLUTION_ITEMS,
+    FOSSILS,
+    MEDICINE,
+    VITAMINS,
+    BATTLE_ITEMS,
+    BERRIES,
+    MINTS,
+    INCENSES,
+    TYPE_GEMS,
+    ARCEUS_PLATES,
+    GENESECT_DRIVES,
+    HELD_ITEMS,
+    MEGA_STONES,
+    Z_CRYSTALS,
+    VALUABLES,
+    TOOLS,
+    MACHINES,
+    REPELS,
+    LEGENDARY_ITEMS,
+    TMS,
+    ARMOR;
+
+    private static final PixelECategory[] VALUES = values();
+
+    /**
+     * Looks up a category by the ordinal stored in the mapper's category array.
+     */
+    public static PixelECategory byOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,86 @@
+package com.pixele;
+
+import com.mojang.brigadier.CommandDispatcher;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Server commands under /pixele. All of them require operator permission.
+ */
+public class PixelECommands {
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal(PixelEBridge.MOD_ID)
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.literal("exploits")
+                        .executes(context -> scanExploits(context.getSource())))
+                .then(Commands.literal("export")
+                        .executes(context -> exportSnapshot(context.getSource())))
+                .then(Commands.literal("loot")
+                        .executes(context -> reportLoot(context.getSource()))));
+    }
+
+    /**
+     * /pixele exploits - lists recipes that yield net-positive EMC.
+     */
+    private static int scanExploits(CommandSourceStack source) {
+        List<PixelEExploits.Finding> findings = PixelEExploits.scan(source.getServer());
+        PixelEExploits.report(findings);
+
+        if (findings.isEmpty()) {
+            source.sendSuccess(() -> Component.literal("No EMC exploit loops found."), false);
+            return 0;
+        }
+        for (PixelEExploits.Finding finding : findings) {
+            source.sendSuccess(() -> Component.literal(finding.output() + " via " + finding.recipeId()
+                    + ": +" + finding.gain() + " EMC" + (finding.isCyclic() ? " (loop)" : "")), false);
+        }
+        source.sendFailure(Component.literal(findings.size() + " net-positive recipes found, see the server log."));
+        return findings.size();
+    }
+    
+    /**
+     * /pixele export - writes the resolved table as a binary snapshot.
+     */
+    private static int exportSnapshot(CommandSourceStack source) {
+        try {
+            Path file = PixelESnapshot.export();
+            source.sendSuccess(() -> Component.literal("Exported " + PixelEMapper.getConfiguredItemCount()
+                    + " EMC records to " + file), true);
+            return 1;
+        } catch (IOException e) {
+            PixelEBridge.LOGGER.error("Failed to export EMC snapshot", e);
+            source.sendFailure(Component.literal("EMC export failed: " + e.getMessage()));
+            return 0;
+        }
+    }
+    
+    /**
+     * /pixele loot - lists the loot tables with the highest expected EMC and writes all of them as CSV.
+     */
+    private static int reportLoot(CommandSourceStack source) {
+        List<PixelELoot.LootValue> values = new ArrayList<>(PixelELoot.getIndex().values());
+        values.sort(Comparator.comparingDouble(PixelELoot.LootValue::perDefeat).reversed());
+
+        for (PixelELoot.LootValue value : values.subList(0, Math.min(10, values.size()))) {
+            source.sendSuccess(() -> Component.literal(value.table() + ": "
+                    + String.format("%.1f", value.perDefeat()) + " EMC expected"), false);
+        }
+        try {
+            Path file = PixelELoot.writeReport();
+            source.sendSuccess(() -> Component.literal("Wrote " + values.size() + " loot table yields to " + file), false);
+            return values.size();
+        } catch (IOException e) {
+            PixelEBridge.LOGGER.error("Failed to write loot report", e);
+            source.sendFailure(Component.literal("Loot report failed: " + e.getMessage()));
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.pixele;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recipe-graph EMC derivation engine.
+ *
+ * Derived items are described by rules mirroring their Pixelmon recipes
+ * (e.g. silicon_block = 9 x silicon). The rules form a dependency graph whose
+ * weakly connected components are independent of each other, so each component
+ * is evaluated on its own (in parallel) in topological order. When a base value
+ * changes, only the items downstream of it are recomputed.
+ */
+public class PixelEDeriver {
+
+    /**
+     * A single ingredient of a derivation rule.
+     */
+    public record Input(String itemId, int count) {}
+
+    /**
+     * A derivation rule: outputCount x output is crafted from the given inputs.
+     */
+    public record Rule(String output, int outputCount, List<Input> inputs) {}
+
+    private final Map<String, Rule> rulesByOutput = new LinkedHashMap<>();
+    private final Map<String, List<String>> dependents = new HashMap<>();
+    private final List<List<String>> components = new ArrayList<>();
+    private final Map<String, Integer> topoIndex = new HashMap<>();
+
+    public PixelEDeriver(Collection<Rule> rules) {
+        for (Rule rule : rules) {
+            if (rulesByOutput.putIfAbsent(rule.output(), rule) != null) {
+                throw new IllegalArgumentException("Duplicate derivation rule for " + rule.output());
+            }
+        }
+        for (Rule rule : rulesByOutput.values()) {
+            for (Input input : rule.inputs()) {
+                dependents.computeIfAbsent(input.itemId(), k -> new ArrayList<>()).add(rule.output());
+            }
+        }
+        buildComponents();
+    }
+
+    /**
+     * Computes every derived value from the given base values.
+     *
+     * The values are passed as a plain map rather than a callback so that worker threads
+     * never call back into a class that may still be initializing.
+     *
+     * @param baseValues EMC values of non-derived items
+     * @return derived item ID to EMC value; 0 (no value) for rules whose inputs did not resolve
+     */
+    public Map<String, Long> deriveAll(Map<String, Long> baseValues) {
+        Map<String, Long> derived = new HashMap<>();
+        components.parallelStream()
+                .map(component -> evaluate(component, baseValues))
+                .forEachOrdered(derived::putAll);
+        return derived;
+    }
+
+    /**
+     * Recomputes only the items that depend (directly or transitively) on a changed item.
+     *
+     * @param changedId the item whose value changed
+     * @param values current values of all items, derived or not
+     * @return the recomputed derived values, in dependency order; 0 (no value) where an input stopped resolving
+     */
+    public Map<String, Long> recompute(String changedId, Map<String, Long> values) {
+        Set<String> affected = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(changedId);
+        while (!queue.isEmpty()) {
+            for (String dependent : dependents.getOrDefault(queue.poll(), List.of())) {
+                if (affected.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+
+        List<String> ordered = new ArrayList<>(affected);
+        ordered.sort((a, b) -> Integer.compare(topoIndex.get(a), topoIndex.get(b)));
+        return evaluate(ordered, values);
+    }
+
+    /**
+     * Whether the given item's value is produced by a rule.
+     */
+    public boolean isDerived(String itemId) {
+        return rulesByOutput.containsKey(itemId);
+    }
+
+    public int getRuleCount() {
+        return rulesByOutput.size();
+    }
+
+    private Map<String, Long> evaluate(List<String> orderedOutputs, Map<String, Long> values) {
+        Map<String, Long> computed = new LinkedHashMap<>();
+        for (String output : orderedOutputs) {
+            Rule rule = rulesByOutput.get(output);
+            long total = 0;
+            boolean resolved = true;
+            for (Input input : rule.inputs()) {
+                Long local = computed.get(input.itemId());
+                long value = local != null ? local : values.getOrDefault(input.itemId(), 0L);
+                if (value <= 0) {
+                    resolved = false;
+                    break;
+                }
+                total += value * input.count();
+            }
+            if (resolved) {
+                computed.put(output, total / rule.outputCount());
+            } else {
+                // Recorded as 0 so a stale value never survives, and dependents resolve to 0 as well
+                PixelEBridge.LOGGER.warn("Cannot derive EMC for {}: an input has no value", output);
+                computed.put(output, 0L);
+            }
+        }
+        return computed;
+    }
+
+    /**
+     * Splits the rule graph into weakly connected components and orders each one topologically.
+     */
+    private void buildComponents() {
+        Map<String, String> parent = new HashMap<>();
+        for (Rule rule : rulesByOutput.values()) {
+            for (Input input : rule.inputs()) {
+                union(parent, rule.output(), input.itemId());
+            }
+        }
+
+        Map<String, List<String>> grouped = new LinkedHashMap<>();
+        for (String output : rulesByOutput.keySet()) {
+            grouped.computeIfAbsent(find(parent, output), k -> new ArrayList<>()).add(output);
+        }
+
+        for (List<String> outputs : grouped.values()) {
+            List<String> ordered = topologicalOrder(outputs);
+            for (String output : ordered) {
+                topoIndex.put(output, topoIndex.size());
+            }
+            components.add(ordered);
+        }
+    }
+
+    private List<String> topologicalOrder(List<String> outputs) {
+        Map<String, Integer> pending = new HashMap<>();
+        Deque<String> ready = new ArrayDeque<>();
+        for (String output : outputs) {
+            int derivedInputs = 0;
+            for (Input input : rulesByOutput.get(output).inputs()) {
+                if (rulesByOutput.containsKey(input.itemId())) {
+                    derivedInputs++;
+                }
+            }
+            pending.put(output, derivedInputs);
+            if (derivedInputs == 0) {
+                ready.add(output);
+            }
+        }
+
+        List<String> ordered = new ArrayList<>(outputs.size());
+        while (!ready.isEmpty()) {
+            String output = ready.poll();
+            ordered.add(output);
+            for (String dependent : dependents.getOrDefault(output, List.of())) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (ordered.size() != outputs.size()) {
+            throw new IllegalStateException("Derivation rules contain a cycle among: " + outputs);
+        }
+        return ordered;
+    }
+
+    private static String find(Map<String, String> parent, String id) {
+        String root = id;
+        while (true) {
+            String next = parent.getOrDefault(root, root);
+            if (next.equals(root)) {
+                break;
+            }
+            root = next;
+        }
+        parent.put(id, root);
+        return root;
+    }
+
+    private static void union(Map<String, String> parent, String a, String b) {
+        String rootA = find(parent, a);
+        String rootB = find(parent, b);
+        if (!rootA.equals(rootB)) {
+            parent.put(rootA, rootB);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.pixele;
+
+import net.neoforged.fml.loading.FMLPaths;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Suggests the closest real item ID for every configured ID that was not found in the registry.
+ *
+ * Candidates are indexed by character trigrams, so each lookup only scores the IDs that share
+ * at least one trigram with the missing one instead of running an edit distance over the whole
+ * namespace. Scoring is the Dice coefficient over trigram sets, with the leading trigram
+ * counted twice because Pixelmon IDs group by prefix (tm_*, mint_*, *_ball).
+ */
+public class PixelEDiagnostics {
+
+    private static final int GRAM = 3;
+    private static final int SUGGESTIONS = 3;
+    private static final String MISS_REPORT = "missing-items.txt";
+
+    /**
+     * A suggested replacement for a missing ID.
+     */
+    public record Suggestion(String itemId, double score) {}
+
+    private final String[] candidates;
+    private final int[] gramCounts;
+    private final Map<String, int[]> postings;
+
+    // Scratch buffers reused across lookups; only the touched entries are reset
+    private final int[] shared;
+    private final int[] touched;
+
+    /**
+     * Builds the trigram index over the given item IDs.
+     */
+    public PixelEDiagnostics(List<String> candidateIds) {
+        this.candidates = candidateIds.toArray(new String[0]);
+        this.gramCounts = new int[candidates.length];
+        this.shared = new int[candidates.length];
+        this.touched = new int[candidates.length];
+
+        Map<String, List<Integer>> building = new HashMap<>();
+        for (int i = 0; i < candidates.length; i++) {
+            List<String> grams = grams(candidates[i]);
+            gramCounts[i] = grams.size() + 1;
+            for (String gram : grams) {
+                building.computeIfAbsent(gram, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        this.postings = new HashMap<>(building.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : building.entrySet()) {
+            postings.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * Returns the best matches for an ID, highest score first. Not thread-safe.
+     */
+    public List<Suggestion> suggest(String missingId) {
+        List<String> grams = grams(missingId);
+        int touchedCount = 0;
+
+        for (String gram : grams) {
+            int[] hits = postings.get(gram);
+            if (hits == null) {
+                continue;
+            }
+            int weight = gram.charAt(0) == '^' ? 2 : 1;
+            for (int candidate : hits) {
+                if (shared[candidate] == 0) {
+                    touched[touchedCount++] = candidate;
+                }
+                shared[candidate] += weight;
+            }
+        }
+
+        // Keep the top candidates as indices so scoring a candidate never allocates
+        int[] best = new int[SUGGESTIONS];
+        double[] bestScores = new double[SUGGESTIONS];
+        int found = 0;
+        for (int t = 0; t < touchedCount; t++) {
+            int candidate = touched[t];
+            double score = 2.0 * shared[candidate] / (grams.size() + 1 + gramCounts[candidate]);
+            shared[candidate] = 0;
+            for (int slot = 0; slot < SUGGESTIONS; slot++) {
+                if (slot == found || isBetter(score, candidate, bestScores[slot], best[slot])) {
+                    System.arraycopy(best, slot, best, slot + 1, SUGGESTIONS - slot - 1);
+                    System.arraycopy(bestScores, slot, bestScores, slot + 1, SUGGESTIONS - slot - 1);
+                    best[slot] = candidate;
+                    bestScores[slot] = score;
+                    found = Math.min(found + 1, SUGGESTIONS);
+                    break;
+                }
+            }
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>(found);
+        for (int slot = 0; slot < found; slot++) {
+            suggestions.add(new Suggestion(candidates[best[slot]], bestScores[slot]));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Writes the miss report on a background thread. The candidate IDs must already be
+     * snapshotted from the registry by the caller.
+     */
+    public static void diagnoseAsync(List<String> missingIds, List<String> candidateIds) {
+        Thread thread = new Thread(() -> writeReport(missingIds, candidateIds), "PixelE Diagnostics");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    private static void writeReport(List<String> missingIds, List<String> candidateIds) {
+        long start = System.nanoTime();
+        PixelEDiagnostics index = new PixelEDiagnostics(candidateIds);
+
+        List<String> lines = new ArrayList<>(missingIds.size() + 1);
+        lines.add("# Configured Pixelmon IDs not found in the registry, with the closest real IDs");
+        for (String missing : missingIds) {
+            StringBuilder line = new StringBuilder(missing).append(" ->");
+            List<Suggestion> suggestions = index.suggest(missing);
+            if (suggestions.isEmpty()) {
+                line.append(" (no match)");
+            }
+            for (Suggestion suggestion : suggestions) {
+                line.append(String.format(" %s (%.2f)", suggestion.itemId(), suggestion.score()));
+            }
+            lines.add(line.toString());
+        }
+
+        Path report = reportFile(MISS_REPORT);
+        try {
+            Files.createDirectories(report.getParent());
+            Files.write(report, lines);
+            PixelEBridge.LOGGER.info("Wrote miss report for {} items to {} in {} ms",
+                    missingIds.size(), report, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            PixelEBridge.LOGGER.warn("Failed to write miss report {}: {}", report, e.getMessage());
+        }
+    }
+
+    /**
+     * Resolves a report file inside the game directory's pixele folder.
+     */
+    static Path reportFile(String name) {
+        return FMLPaths.GAMEDIR.get().resolve(PixelEBridge.MOD_ID).resolve(name);
+    }
+
+    private boolean isBetter(double score, int candidate, double otherScore, int other) {
+        if (score != otherScore) {
+            return score > otherScore;
+        }
+        return candidates[candidate].compareTo(candidates[other]) < 0;
+    }
+
+    /**
+     * Distinct trigrams of the ID padded with boundary markers, so short IDs still produce grams
+     * and prefixes/suffixes weigh in.
+     */
+    private static List<String> grams(String id) {
+        String padded = "^" + id + "$";
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            String gram = padded.substring(i, i + GRAM);
+            if (!grams.contains(gram)) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+}
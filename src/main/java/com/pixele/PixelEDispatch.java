@@ -0,0 +1,305 @@
+package com.pixele;
+
+import moze_intel.projecte.api.proxy.IEMCProxy;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.neoforged.fml.ModList;
+import net.neoforged.neoforgespi.language.IModInfo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds back IMC sends for items ProjectE's own recipe mapping already values identically.
+ *
+ * ProjectE's values only exist once the server has mapped, after InterModEnqueue, so the comparison
+ * runs one start ahead: after the server starts, every table item that a loaded crafting or cooking
+ * recipe (the types ProjectE maps) reproduces exactly from ProjectE's current values is recorded in
+ * a cache file, and the next enqueue skips it. An item is only recorded if none of the inputs it is
+ * derived from is itself recorded, so a skipped item always derives from values that are still
+ * pinned. Skipped items are checked against ProjectE's result on every start; one that comes out
+ * different is marked in the cache as always sent, and is sent from the following start on. Items
+ * the merge already withheld from IMC are never recorded and never pin their inputs.
+ *
+ * The cache carries a fingerprint of the mod list, the table values and the recipes it was computed
+ * from. A different mod list or table discards it before anything is skipped. Recipes are only loaded
+ * after IMC is sent, so a recipe change is reported after start, the per-item check decides what is
+ * sent again, and the cache is rewritten against the new recipes.
+ *
+ * Opt in with -Dpixele.adaptiveDispatch=true.
+ */
+public class PixelEDispatch {
+
+    public static final boolean ADAPTIVE = Boolean.getBoolean("pixele.adaptiveDispatch");
+
+    private static final String PIXELMON_PREFIX = "pixelmon:";
+    private static final String CACHE_FILE = "imc-derivable.txt";
+    private static final String FINGERPRINT_PREFIX = "# fingerprint ";
+
+    // Items held back from IMC in this session, with the value ProjectE is expected to derive
+    private static final Map<String, Long> SKIPPED = new LinkedHashMap<>();
+    // Recipe types ProjectE's vanilla recipe mapper handles
+    private static final Set<RecipeType<?>> PROJECTE_RECIPE_TYPES = Set.of(RecipeType.CRAFTING, RecipeType.SMELTING,
+            RecipeType.BLASTING, RecipeType.SMOKING, RecipeType.CAMPFIRE_COOKING, RecipeType.STONECUTTING);
+
+    // Table slots the merge left to this mod at enqueue; the others are not ours to skip or pin
+    private static boolean[] published = new boolean[0];
+    // Recipe fingerprint of the cache this session's skips were read from
+    private static String skippedRecipes = "";
+    // Items that were skipped once and not reproduced by ProjectE; never skipped again for this cache
+    private static final Set<String> ALWAYS_SENT = new HashSet<>();
+    private static final String ALWAYS_SENT_PREFIX = "!";
+
+    /**
+     * Clears the publish flag of every item ProjectE reproduced with the same value on the last start.
+     *
+     * @return the number of sends avoided
+     */
+    public static synchronized int skipDerivable(boolean[] publish) {
+        SKIPPED.clear();
+        ALWAYS_SENT.clear();
+        skippedRecipes = "";
+        published = publish.clone();
+        if (!ADAPTIVE) {
+            return 0;
+        }
+        Map<String, Long> derivable = readCache(modsFingerprint() + " " + tableFingerprint());
+        for (int slot = 0; slot < publish.length; slot++) {
+            Long derived = derivable.get(PixelEMapper.getItemId(slot));
+            if (publish[slot] && derived != null && derived == PixelEMapper.getEmcValue(slot)) {
+                publish[slot] = false;
+                SKIPPED.put(PixelEMapper.getItemId(slot), derived);
+            }
+        }
+        return SKIPPED.size();
+    }
+
+    /**
+     * Checks this start's skipped items against ProjectE and records the items to skip on the next start.
+     */
+    public static void refreshAfterStart(MinecraftServer server) {
+        if (!ADAPTIVE) {
+            return;
+        }
+        // /reload replaces the recipes on the server thread, so they are collected there
+        Map<String, Long> emc = new HashMap<>();
+        List<PixelEExploits.RecipeEdge> edges = PixelEStartup.onServerThread(server,
+                () -> PixelEExploits.collect(server, emc, PixelEDispatch::isMappedByProjectE));
+        refresh(edges, emc);
+    }
+
+    private static synchronized void refresh(List<PixelEExploits.RecipeEdge> edges, Map<String, Long> emc) {
+        String recipes = recipesFingerprint(edges);
+        if (!SKIPPED.isEmpty() && !recipes.equals(skippedRecipes)) {
+            PixelEBridge.LOGGER.info("Recipes changed since the adaptive IMC cache was written; checking every skipped item.");
+        }
+
+        // Mismatched items are treated like ones the merge withheld: never recorded, so they keep being sent
+        boolean[] candidates = published.clone();
+        for (String id : ALWAYS_SENT) {
+            int slot = PixelEMapper.getSlot(id);
+            if (slot >= 0) {
+                candidates[slot] = false;
+            }
+        }
+        int mismatched = 0;
+        for (Map.Entry<String, Long> entry : SKIPPED.entrySet()) {
+            long mapped = mappedValue(PIXELMON_PREFIX + entry.getKey(), emc);
+            if (mapped != entry.getValue()) {
+                PixelEBridge.LOGGER.warn("{}{} was not sent over IMC but ProjectE mapped it to {} instead of {}; it is always sent from the next start on.",
+                        PIXELMON_PREFIX, entry.getKey(), mapped, entry.getValue());
+                candidates[PixelEMapper.getSlot(entry.getKey())] = false;
+                ALWAYS_SENT.add(entry.getKey());
+                mismatched++;
+            }
+        }
+
+        Map<String, Long> derivable = derivable(edges, emc, candidates);
+        writeCache(derivable, modsFingerprint() + " " + tableFingerprint() + " " + recipes);
+        PixelEBridge.LOGGER.info("Adaptive IMC: {} sends avoided this start ({} mismatched), {} items reproducible by ProjectE for the next start.",
+                SKIPPED.size(), mismatched, derivable.size());
+    }
+
+    /**
+     * The table items, with their values, that the recipes reproduce from the given values and
+     * whose inputs are all left pinned. Only slots this mod publishes are considered.
+     */
+    static Map<String, Long> derivable(List<PixelEExploits.RecipeEdge> edges, Map<String, Long> emc, boolean[] published) {
+        Map<String, List<PixelEExploits.RecipeEdge>> byOutput = new HashMap<>();
+        for (PixelEExploits.RecipeEdge edge : edges) {
+            byOutput.computeIfAbsent(edge.output(), k -> new ArrayList<>()).add(edge);
+        }
+
+        Map<String, Long> derivable = new LinkedHashMap<>();
+        Set<String> pinned = new HashSet<>();
+        for (int slot = 0; slot < PixelEMapper.getConfiguredItemCount(); slot++) {
+            String id = PixelEMapper.getItemId(slot);
+            long value = PixelEMapper.getEmcValue(slot);
+            if (value <= 0 || slot >= published.length || !published[slot] || pinned.contains(id)) {
+                continue;
+            }
+            List<String> inputs = reproducingInputs(PIXELMON_PREFIX + id, value, byOutput, emc);
+            if (inputs == null || inputs.stream().anyMatch(input -> derivable.containsKey(stripPrefix(input)))) {
+                continue;
+            }
+            derivable.put(id, value);
+            for (String input : inputs) {
+                pinned.add(stripPrefix(input));
+            }
+        }
+        return derivable;
+    }
+
+    /**
+     * The cheapest inputs of the recipe that gives the item exactly its table value, or null if
+     * no recipe does or some recipe gives it less (ProjectE keeps the lowest).
+     */
+    private static List<String> reproducingInputs(String itemId, long value, Map<String, List<PixelEExploits.RecipeEdge>> byOutput,
+                                                  Map<String, Long> emc) {
+        List<String> reproducing = null;
+        for (PixelEExploits.RecipeEdge edge : byOutput.getOrDefault(itemId, List.of())) {
+            long price = PixelEExploits.priceInputs(edge, emc);
+            if (price < 0) {
+                continue;
+            }
+            if (price < value * edge.outputCount()) {
+                return null;
+            }
+            if (price == value * edge.outputCount() && reproducing == null) {
+                reproducing = cheapestOptions(edge, emc);
+            }
+        }
+        return reproducing;
+    }
+
+    private static List<String> cheapestOptions(PixelEExploits.RecipeEdge edge, Map<String, Long> emc) {
+        List<String> inputs = new ArrayList<>(edge.ingredients().size());
+        for (List<String> slot : edge.ingredients()) {
+            String cheapest = null;
+            for (String option : slot) {
+                long price = emc.getOrDefault(option, 0L);
+                if (price > 0 && (cheapest == null || price < emc.get(cheapest))) {
+                    cheapest = option;
+                }
+            }
+            inputs.add(cheapest);
+        }
+        return inputs;
+    }
+
+    private static long mappedValue(String itemId, Map<String, Long> emc) {
+        return emc.computeIfAbsent(itemId, k -> {
+            ResourceLocation location = ResourceLocation.tryParse(k);
+            return location == null ? 0L : BuiltInRegistries.ITEM.getOptional(location).map(IEMCProxy.INSTANCE::getValue).orElse(0L);
+        });
+    }
+
+    /**
+     * Identifies the loaded mods and their versions.
+     */
+    private static String modsFingerprint() {
+        List<String> mods = new ArrayList<>();
+        for (IModInfo mod : ModList.get().getMods()) {
+            mods.add(mod.getModId() + "@" + mod.getVersion());
+        }
+        Collections.sort(mods);
+        return Integer.toHexString(mods.hashCode());
+    }
+
+    /**
+     * Whether ProjectE's recipe mapper turns this recipe into a conversion. Other recipe types, such as
+     * Pixelmon's own machines, cannot reproduce a value in ProjectE however they are priced.
+     */
+    private static boolean isMappedByProjectE(Recipe<?> recipe) {
+        return !recipe.isSpecial() && PROJECTE_RECIPE_TYPES.contains(recipe.getType());
+    }
+
+    /**
+     * Identifies the recipe edges, independently of the order the recipe manager lists them in.
+     */
+    private static String recipesFingerprint(List<PixelEExploits.RecipeEdge> edges) {
+        int hash = 0;
+        for (PixelEExploits.RecipeEdge edge : edges) {
+            hash += edge.hashCode();
+        }
+        return Integer.toHexString(hash);
+    }
+
+    /**
+     * Identifies the table's items and their current values.
+     */
+    private static String tableFingerprint() {
+        int hash = 1;
+        for (int slot = 0; slot < PixelEMapper.getConfiguredItemCount(); slot++) {
+            hash = 31 * hash + PixelEMapper.getItemId(slot).hashCode();
+            hash = 31 * hash + Long.hashCode(PixelEMapper.getEmcValue(slot));
+        }
+        return Integer.toHexString(hash);
+    }
+
+    private static String stripPrefix(String itemId) {
+        return itemId.startsWith(PIXELMON_PREFIX) ? itemId.substring(PIXELMON_PREFIX.length()) : itemId;
+    }
+
+    /**
+     * Reads the cache, or nothing if it was computed for a different mod list or table.
+     */
+    private static Map<String, Long> readCache(String fingerprint) {
+        Map<String, Long> derivable = new HashMap<>();
+        Path file = PixelEDiagnostics.reportFile(CACHE_FILE);
+        if (!Files.exists(file)) {
+            return derivable;
+        }
+        try {
+            List<String> lines = Files.readAllLines(file);
+            String prefix = FINGERPRINT_PREFIX + fingerprint + " ";
+            if (lines.size() < 2 || !lines.get(1).startsWith(prefix)) {
+                PixelEBridge.LOGGER.info("Mods or EMC table changed since the adaptive IMC cache was written; sending every item.");
+                return derivable;
+            }
+            skippedRecipes = lines.get(1).substring(prefix.length());
+            for (String line : lines) {
+                String[] parts = line.split(" ");
+                if (line.startsWith(ALWAYS_SENT_PREFIX)) {
+                    ALWAYS_SENT.add(line.substring(ALWAYS_SENT_PREFIX.length()));
+                } else if (parts.length == 2 && !line.startsWith("#")) {
+                    derivable.put(parts[0], Long.parseLong(parts[1]));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            PixelEBridge.LOGGER.warn("Ignoring unreadable adaptive IMC cache {}: {}", file, e.getMessage());
+            derivable.clear();
+            ALWAYS_SENT.clear();
+        }
+        return derivable;
+    }
+
+    private static void writeCache(Map<String, Long> derivable, String fingerprint) {
+        List<String> lines = new ArrayList<>(derivable.size() + ALWAYS_SENT.size() + 2);
+        lines.add("# Pixelmon items ProjectE's recipes reproduce at their table value; not sent over IMC next start."
+                + " Items marked " + ALWAYS_SENT_PREFIX + " were not reproduced when skipped and are always sent");
+        lines.add(FINGERPRINT_PREFIX + fingerprint);
+        derivable.forEach((id, value) -> lines.add(id + " " + value));
+        ALWAYS_SENT.forEach(id -> lines.add(ALWAYS_SENT_PREFIX + id));
+
+        Path file = PixelEDiagnostics.reportFile(CACHE_FILE);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, lines);
+        } catch (IOException e) {
+            PixelEBridge.LOGGER.warn("Failed to write adaptive IMC cache {}: {}", file, e.getMessage());
+        }
+    }
+}
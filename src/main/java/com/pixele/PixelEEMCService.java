@@ -0,0 +1,98 @@
+package com.pixele;
+
+import com.pixele.api.PixelEEMCApi;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * {@link PixelEEMCApi} backed by an array indexed by item registry ID.
+ *
+ * The array holds mapper table slots rather than values, so category rebalancing and base value
+ * changes are visible without rebuilding it. It is built once the item registry is frozen.
+ */
+public class PixelEEMCService implements PixelEEMCApi {
+
+    private static final int NO_SLOT = -1;
+
+    private static volatile int[] slotsByRegistryId;
+
+    /**
+     * Builds the registry ID to table slot index. Called from common setup, after registries freeze.
+     */
+    public static void buildIndex() {
+        int[] slots = new int[BuiltInRegistries.ITEM.size()];
+        Arrays.fill(slots, NO_SLOT);
+        for (int slot = 0; slot < PixelEMapper.getConfiguredItemCount(); slot++) {
+            Optional<Item> item = PixelEMapper.resolveItem(slot);
+            if (item.isPresent()) {
+                slots[BuiltInRegistries.ITEM.getId(item.get())] = slot;
+            }
+        }
+        slotsByRegistryId = slots;
+    }
+
+    @Override
+    public long emcOf(Item item) {
+        return emcOfId(slots(), BuiltInRegistries.ITEM.getId(item));
+    }
+
+    @Override
+    public long emcOf(ItemStack stack) {
+        if (stack.isEmpty()) {
+            return 0;
+        }
+        long value = emcOf(stack.getItem());
+        if (!stack.isDamageableItem() || stack.getDamageValue() == 0) {
+            return value;
+        }
+        // Scaled by remaining durability, as ProjectE's damage processor does
+        int maxDamage = stack.getMaxDamage();
+        int damage = stack.getDamageValue();
+        return damage >= maxDamage ? 0 : value * (maxDamage - damage) / maxDamage;
+    }
+
+    @Override
+    public void emcOf(Item[] items, long[] out) {
+        if (out.length < items.length) {
+            throw new IllegalArgumentException("Output array holds " + out.length + " values, need " + items.length);
+        }
+        int[] slots = slots();
+        for (int i = 0; i < items.length; i++) {
+            out[i] = emcOfId(slots, BuiltInRegistries.ITEM.getId(items[i]));
+        }
+    }
+
+    /**
+     * The table slot of an item, or -1 if the table does not value it.
+     */
+    static int slotOf(Item item) {
+        int[] slots = slots();
+        int registryId = BuiltInRegistries.ITEM.getId(item);
+        return registryId < 0 || registryId >= slots.length ? NO_SLOT : slots[registryId];
+    }
+
+    private static long emcOfId(int[] slots, int registryId) {
+        if (registryId < 0 || registryId >= slots.length) {
+            return 0;
+        }
+        int slot = slots[registryId];
+        return slot == NO_SLOT ? 0 : PixelEMapper.getEmcValue(slot);
+    }
+
+    private static int[] slots() {
+        int[] slots = slotsByRegistryId;
+        if (slots == null) {
+            synchronized (PixelEEMCService.class) {
+                if (slotsByRegistryId == null) {
+                    buildIndex();
+                }
+                slots = slotsByRegistryId;
+            }
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,270 @@
+package com.pixele;
+
+import moze_intel.projecte.api.proxy.IEMCProxy;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Finds EMC exploit loops in Pixelmon recipes.
+ *
+ * A recipe is exploitable when the EMC of its output exceeds the EMC of its cheapest
+ * ingredients: buy the inputs with EMC, craft, burn the output, repeat. Recipes are
+ * grouped by strongly connected components of the item graph, so a profitable recipe
+ * that is part of a crafting cycle (e.g. ingot -> block -> ingot) is reported together
+ * with the loop it belongs to. Tarjan's algorithm keeps this linear in recipes.
+ */
+public class PixelEExploits {
+
+    private static final String PIXELMON_PREFIX = "pixelmon:";
+
+    /**
+     * A recipe reduced to item IDs. Each ingredient slot lists the items that satisfy it.
+     */
+    public record RecipeEdge(String recipeId, String output, int outputCount, List<List<String>> ingredients) {}
+
+    /**
+     * A recipe that yields more EMC than it consumes.
+     *
+     * @param loop the items of the crafting cycle the recipe belongs to, empty if it is one-way
+     */
+    public record Finding(String recipeId, String output, long inputEmc, long outputEmc, List<String> loop) {
+        public long gain() {
+            return outputEmc - inputEmc;
+        }
+
+        public boolean isCyclic() {
+            return !loop.isEmpty();
+        }
+    }
+
+    /**
+     * Collects every loaded recipe that touches a Pixelmon item and analyzes it against
+     * the EMC values ProjectE currently holds.
+     */
+    public static List<Finding> scan(MinecraftServer server) {
+        Map<String, Long> emc = new HashMap<>();
+        return analyze(collect(server, emc, recipe -> true), emc);
+    }
+
+    /**
+     * Reduces every loaded recipe that touches a Pixelmon item and passes the filter to an edge,
+     * recording ProjectE's current value of each item seen in the given map.
+     */
+    static List<RecipeEdge> collect(MinecraftServer server, Map<String, Long> emc, Predicate<Recipe<?>> filter) {
+        List<RecipeEdge> edges = new ArrayList<>();
+        for (RecipeHolder<?> holder : server.getRecipeManager().getRecipes()) {
+            Recipe<?> recipe = holder.value();
+            if (!filter.test(recipe)) {
+                continue;
+            }
+            ItemStack result = recipe.getResultItem(server.registryAccess());
+            if (result.isEmpty() || recipe.getIngredients().isEmpty()) {
+                continue;
+            }
+
+            String output = itemId(result, emc);
+            boolean touchesPixelmon = output.startsWith(PIXELMON_PREFIX);
+            List<List<String>> ingredients = new ArrayList<>();
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                if (ingredient.isEmpty()) {
+                    continue;
+                }
+                List<String> options = new ArrayList<>();
+                for (ItemStack option : ingredient.getItems()) {
+                    String id = itemId(option, emc);
+                    touchesPixelmon |= id.startsWith(PIXELMON_PREFIX);
+                    options.add(id);
+                }
+                ingredients.add(options);
+            }
+
+            if (touchesPixelmon && !ingredients.isEmpty()) {
+                edges.add(new RecipeEdge(holder.id().toString(), output, result.getCount(), ingredients));
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Analyzes recipes against an EMC table. Items without EMC can not be bought back,
+     * so an ingredient slot is priced at its cheapest option that has a value and a
+     * recipe with an unpriceable slot is skipped.
+     */
+    public static List<Finding> analyze(List<RecipeEdge> edges, Map<String, Long> emc) {
+        Map<String, Integer> index = new HashMap<>();
+        List<List<Integer>> adjacency = new ArrayList<>();
+        for (RecipeEdge edge : edges) {
+            int to = nodeOf(edge.output(), index, adjacency);
+            for (List<String> slot : edge.ingredients()) {
+                for (String option : slot) {
+                    adjacency.get(nodeOf(option, index, adjacency)).add(to);
+                }
+            }
+        }
+
+        int[] component = stronglyConnectedComponents(adjacency);
+        Map<Integer, List<String>> members = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : index.entrySet()) {
+            members.computeIfAbsent(component[entry.getValue()], k -> new ArrayList<>()).add(entry.getKey());
+        }
+
+        List<Finding> findings = new ArrayList<>();
+        for (RecipeEdge edge : edges) {
+            long outputEmc = emc.getOrDefault(edge.output(), 0L) * edge.outputCount();
+            long inputEmc = priceInputs(edge, emc);
+            if (outputEmc <= 0 || inputEmc < 0 || outputEmc <= inputEmc) {
+                continue;
+            }
+
+            int outputComponent = component[index.get(edge.output())];
+            List<String> loop = members.get(outputComponent);
+            boolean cyclic = false;
+            for (List<String> slot : edge.ingredients()) {
+                for (String option : slot) {
+                    if (component[index.get(option)] == outputComponent && (loop.size() > 1 || option.equals(edge.output()))) {
+                        cyclic = true;
+                    }
+                }
+            }
+
+            if (cyclic) {
+                loop = new ArrayList<>(loop);
+                loop.sort(null);
+            } else {
+                loop = List.of();
+            }
+            findings.add(new Finding(edge.recipeId(), edge.output(), inputEmc, outputEmc, loop));
+        }
+
+        findings.sort((a, b) -> Long.compare(b.gain(), a.gain()));
+        return findings;
+    }
+
+    /**
+     * Logs the findings and returns how many were reported.
+     */
+    public static int report(List<Finding> findings) {
+        for (Finding finding : findings) {
+            PixelEBridge.LOGGER.warn("EMC exploit {}: {} yields {} EMC from {} EMC of inputs (+{}){}",
+                    finding.recipeId(), finding.output(), finding.outputEmc(), finding.inputEmc(), finding.gain(),
+                    finding.isCyclic() ? " in loop " + finding.loop() : "");
+        }
+        PixelEBridge.LOGGER.info("EMC exploit scan complete: {} net-positive recipes found.", findings.size());
+        return findings.size();
+    }
+
+    /**
+     * Prices each ingredient slot at its cheapest option with a value.
+     *
+     * @return the total, or -1 if a slot has no priced option
+     */
+    static long priceInputs(RecipeEdge edge, Map<String, Long> emc) {
+        long total = 0;
+        for (List<String> slot : edge.ingredients()) {
+            long cheapest = Long.MAX_VALUE;
+            for (String option : slot) {
+                long value = emc.getOrDefault(option, 0L);
+                if (value > 0 && value < cheapest) {
+                    cheapest = value;
+                }
+            }
+            if (cheapest == Long.MAX_VALUE) {
+                return -1;
+            }
+            total += cheapest;
+        }
+        return total;
+    }
+
+    private static String itemId(ItemStack stack, Map<String, Long> emc) {
+        String id = BuiltInRegistries.ITEM.getKey(stack.getItem()).toString();
+        emc.computeIfAbsent(id, k -> IEMCProxy.INSTANCE.getValue(stack.getItem()));
+        return id;
+    }
+
+    private static int nodeOf(String id, Map<String, Integer> index, List<List<Integer>> adjacency) {
+        Integer node = index.get(id);
+        if (node == null) {
+            node = adjacency.size();
+            index.put(id, node);
+            adjacency.add(new ArrayList<>());
+        }
+        return node;
+    }
+
+    /**
+     * Iterative Tarjan SCC, so deep recipe chains can not overflow the stack.
+     *
+     * @return the component number of each node
+     */
+    private static int[] stronglyConnectedComponents(List<List<Integer>> adjacency) {
+        int n = adjacency.size();
+        int[] order = new int[n];
+        int[] low = new int[n];
+        int[] component = new int[n];
+        int[] edgeCursor = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(order, -1);
+
+        Deque<Integer> stack = new ArrayDeque<>();
+        Deque<Integer> callStack = new ArrayDeque<>();
+        int counter = 0;
+        int components = 0;
+
+        for (int start = 0; start < n; start++) {
+            if (order[start] != -1) {
+                continue;
+            }
+            callStack.push(start);
+            order[start] = low[start] = counter++;
+            stack.push(start);
+            onStack[start] = true;
+
+            while (!callStack.isEmpty()) {
+                int node = callStack.peek();
+                List<Integer> targets = adjacency.get(node);
+                if (edgeCursor[node] < targets.size()) {
+                    int next = targets.get(edgeCursor[node]++);
+                    if (order[next] == -1) {
+                        order[next] = low[next] = counter++;
+                        stack.push(next);
+                        onStack[next] = true;
+                        callStack.push(next);
+                    } else if (onStack[next]) {
+                        low[node] = Math.min(low[node], order[next]);
+                    }
+                    continue;
+                }
+
+                callStack.pop();
+                if (!callStack.isEmpty()) {
+                    int caller = callStack.peek();
+                    low[caller] = Math.min(low[caller], low[node]);
+                }
+                if (low[node] == order[node]) {
+                    int member;
+                    do {
+                        member = stack.pop();
+                        onStack[member] = false;
+                        component[member] = components;
+                    } while (member != node);
+                    components++;
+                }
+            }
+        }
+        return component;
+    }
+}
@@ -0,0 +1,172 @@
+package com.pixele;
+
+import com.pixele.api.PixelEEMCApi;
+import moze_intel.projecte.api.proxy.IEMCProxy;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-world regression tests for the ProjectE integration.
+ *
+ * Run with ./gradlew runGameTestServer, or /test runall in the server run
+ * (build.gradle enables the pixele namespace for both).
+ */
+@GameTestHolder(PixelEBridge.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class PixelEGameTests {
+
+    // Rounds over the stacks per sample, and samples (one per tick) for the lookup throughput test
+    private static final int ROUNDS = 20;
+    private static final int WARMUP_SAMPLES = 5;
+    private static final int SAMPLES = 31;
+
+    // This mod's lookup may be at most this much slower than ProjectE's before the test fails
+    private static final double MIN_RELATIVE_THROUGHPUT = 0.8;
+
+    // Keeps the measured lookups from being optimized away
+    private static volatile long sink;
+
+    /**
+     * Every table entry Pixelmon actually provides must have an EMC value in ProjectE.
+     */
+    @GameTest(template = "empty")
+    public static void resolvedEntriesCarryEmc(GameTestHelper helper) {
+        List<String> withoutEmc = new ArrayList<>();
+        int resolved = 0;
+
+        for (int slot = 0; slot < PixelEMapper.getConfiguredItemCount(); slot++) {
+            Optional<Item> item = PixelEMapper.resolveItem(slot);
+            if (item.isEmpty()) {
+                continue;
+            }
+            resolved++;
+            long value = IEMCProxy.INSTANCE.getValue(item.get());
+            if (value <= 0) {
+                withoutEmc.add(PixelEMapper.getItemId(slot));
+            } else if (value != PixelEMapper.getEmcValue(slot)) {
+                PixelEBridge.LOGGER.info("GameTest: {} has {} EMC in ProjectE, table says {}",
+                        PixelEMapper.getItemId(slot), value, PixelEMapper.getEmcValue(slot));
+            }
+        }
+
+        if (!withoutEmc.isEmpty()) {
+            helper.fail(withoutEmc.size() + " of " + resolved + " resolved items have no EMC: " + withoutEmc);
+        }
+        helper.succeed();
+    }
+
+    /**
+     * Looking up a Pixelmon stack through this mod's API must keep up with ProjectE's native lookup
+     * of the same stacks, since shops and GUIs call it per slot per refresh.
+     *
+     * Both paths run over the same stacks, one short sample per tick, alternating which goes first.
+     * The test asserts on the median per-tick ratio, so a GC pause or a slow tick cannot fail it on its own.
+     */
+    @GameTest(template = "empty", timeoutTicks = 200)
+    public static void apiLookupThroughput(GameTestHelper helper) {
+        List<ItemStack> resolved = new ArrayList<>();
+        for (int slot = 0; slot < PixelEMapper.getConfiguredItemCount(); slot++) {
+            PixelEMapper.resolveItem(slot).ifPresent(item -> resolved.add(new ItemStack(item)));
+        }
+        if (resolved.isEmpty()) {
+            helper.fail("No Pixelmon items resolved");
+            return;
+        }
+        ItemStack[] stacks = resolved.toArray(new ItemStack[0]);
+
+        double[] ratios = new double[SAMPLES];
+        for (int tick = 0; tick < WARMUP_SAMPLES + SAMPLES; tick++) {
+            int sample = tick - WARMUP_SAMPLES;
+            helper.runAtTickTime(tick + 1, () -> {
+                double api;
+                double projecte;
+                if (sample % 2 == 0) {
+                    api = measure(stacks, true);
+                    projecte = measure(stacks, false);
+                } else {
+                    projecte = measure(stacks, false);
+                    api = measure(stacks, true);
+                }
+                if (sample >= 0) {
+                    ratios[sample] = api / projecte;
+                }
+            });
+        }
+
+        helper.runAtTickTime(WARMUP_SAMPLES + SAMPLES + 1, () -> {
+            double ratio = median(ratios);
+            PixelEBridge.LOGGER.info("GameTest lookup throughput (PixelEEMCApi / ProjectE, median of {}): {}",
+                    SAMPLES, String.format("%.2f", ratio));
+            if (ratio < MIN_RELATIVE_THROUGHPUT) {
+                helper.fail("PixelEEMCApi lookups are slower than ProjectE's: " + String.format("%.2f", ratio) + "x");
+            }
+            helper.succeed();
+        });
+    }
+
+    /**
+     * A shared table whose snapshot was altered after signing must not be loaded.
+     */
+    @GameTest(template = "empty")
+    public static void tamperedSharedTableIsRejected(GameTestHelper helper) {
+        try {
+            Path directory = Files.createTempDirectory("pixele-shared");
+            byte[] secret = "gametest".getBytes(StandardCharsets.UTF_8);
+            PixelESharedTable.Manifest manifest = new PixelESharedTable(directory, secret).publish(1);
+
+            // Raise the first record's EMC; size and manifest stay as signed
+            Path snapshot = directory.resolve(manifest.file());
+            byte[] bytes = Files.readAllBytes(snapshot);
+            bytes[PixelESnapshot.HEADER_SIZE + PixelESnapshot.ID_WIDTH + Integer.BYTES + Long.BYTES - 1] ^= 0x40;
+            Files.write(snapshot, bytes);
+
+            PixelESharedTable table = new PixelESharedTable(directory, secret);
+            if (table.poll() || table.getLoadedVersion() != -1) {
+                helper.fail("Tampered shared table version " + manifest.version() + " was loaded");
+                return;
+            }
+        } catch (IOException e) {
+            helper.fail("Could not publish a shared table: " + e.getMessage());
+            return;
+        }
+        helper.succeed();
+    }
+
+    private static double median(double[] samples) {
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /**
+     * Looks up every stack ROUNDS times, through this mod's API or through ProjectE's proxy.
+     *
+     * @return lookups per second
+     */
+    private static double measure(ItemStack[] stacks, boolean api) {
+        long total = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (ItemStack stack : stacks) {
+                total += api ? PixelEEMCApi.INSTANCE.emcOf(stack) : IEMCProxy.INSTANCE.getValue(stack);
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        sink = total;
+        return (double) ROUNDS * stacks.length / (nanos / 1e9);
+    }
+}
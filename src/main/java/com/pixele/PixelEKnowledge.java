@@ -0,0 +1,249 @@
+package com.pixele;
+
+import moze_intel.projecte.api.ItemInfo;
+import moze_intel.projecte.api.capabilities.IKnowledgeProvider;
+import moze_intel.projecte.api.capabilities.PECapabilities;
+import moze_intel.projecte.api.event.PlayerAttemptLearnEvent;
+import moze_intel.projecte.api.event.PlayerKnowledgeChangeEvent;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-player index of the Pixelmon items a player has learned, as a bit set over the mapper's table slots.
+ *
+ * Learning sets one bit from ProjectE's learn event. On each knowledge change the size of ProjectE's
+ * knowledge set tells what happened: growth by exactly the learns already applied needs no work, a
+ * shrink re-checks only the set bits, and anything else rebuilds from ProjectE's list. The bits are
+ * stored as a long array in the player's persistent data, with a fingerprint of the table layout so
+ * a changed table forces a rebuild. Tier queries AND the player's bits with one mask per tier.
+ * All methods run on the server thread.
+ */
+public class PixelEKnowledge {
+
+    private static final String TAG_KNOWN = "pixele_known";
+    private static final String TAG_TABLE = "pixele_known_table";
+    private static final String TAG_KNOWLEDGE_SIZE = "pixele_known_size";
+
+    /**
+     * A player's bits plus what is needed to classify the next knowledge change.
+     */
+    private static class Entry {
+        final BitSet known;
+        int knowledgeSize;
+        int pendingLearns;
+
+        Entry(BitSet known, int knowledgeSize) {
+            this.known = known;
+            this.knowledgeSize = knowledgeSize;
+        }
+    }
+
+    private static final Map<UUID, Entry> PLAYERS = new HashMap<>();
+
+    private static int tableFingerprint;
+    private static ItemInfo[] slotInfos;
+    private static BitSet[] tierMasks;
+    private static int tierRevision = -1;
+
+    /**
+     * Registers the game event listeners.
+     */
+    public static void register() {
+        NeoForge.EVENT_BUS.addListener(PixelEKnowledge::onLoggedIn);
+        NeoForge.EVENT_BUS.addListener(PixelEKnowledge::onLoggedOut);
+        // Runs after every other listener, so a cancelled learn is never indexed
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, PixelEKnowledge::onAttemptLearn);
+        NeoForge.EVENT_BUS.addListener(PixelEKnowledge::onKnowledgeChange);
+    }
+
+    /**
+     * The table slots of every Pixelmon item the player knows. The returned set is a copy.
+     */
+    public static BitSet getKnownSlots(Player player) {
+        Entry entry = PLAYERS.get(player.getUUID());
+        return entry == null ? new BitSet() : (BitSet) entry.known.clone();
+    }
+
+    /**
+     * The table slots the player knows within one tier. The returned set is a copy.
+     */
+    public static BitSet getKnownSlots(Player player, PixelETier tier) {
+        BitSet known = getKnownSlots(player);
+        known.and(tierMasks()[tier.ordinal()]);
+        return known;
+    }
+
+    public static int countKnown(Player player, PixelETier tier) {
+        return getKnownSlots(player, tier).cardinality();
+    }
+
+    public static boolean knows(Player player, int slot) {
+        Entry entry = PLAYERS.get(player.getUUID());
+        return entry != null && entry.known.get(slot);
+    }
+
+    private static void onLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player && knowledge(player) != null) {
+            PLAYERS.put(player.getUUID(), load(player));
+        }
+    }
+
+    private static void onLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        PLAYERS.remove(event.getEntity().getUUID());
+    }
+
+    private static void onAttemptLearn(PlayerAttemptLearnEvent event) {
+        Entry entry = PLAYERS.get(event.getPlayer().getUUID());
+        if (event.isCanceled() || entry == null) {
+            return;
+        }
+        // ProjectE only posts the event for unknown items, so every uncancelled learn grows its knowledge set
+        entry.pendingLearns++;
+        int slot = PixelEEMCService.slotOf(event.getReducedInfo().getItem());
+        if (slot >= 0) {
+            entry.known.set(slot);
+        }
+        save(event.getPlayer(), entry);
+    }
+
+    private static void onKnowledgeChange(PlayerKnowledgeChangeEvent event) {
+        Entry entry = PLAYERS.get(event.getPlayerUUID());
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (entry == null || server == null) {
+            return;
+        }
+        ServerPlayer player = server.getPlayerList().getPlayer(event.getPlayerUUID());
+        IKnowledgeProvider provider = player == null ? null : knowledge(player);
+        if (provider == null) {
+            return;
+        }
+
+        int size = provider.getKnowledge().size();
+        int expected = entry.knowledgeSize + entry.pendingLearns;
+        if (size < expected) {
+            // Something was forgotten: only the items this index holds need checking
+            ItemInfo[] infos = slotInfos();
+            for (int slot = entry.known.nextSetBit(0); slot >= 0; slot = entry.known.nextSetBit(slot + 1)) {
+                if (infos[slot] == null || !provider.hasKnowledge(infos[slot])) {
+                    entry.known.clear(slot);
+                }
+            }
+        } else if (size > expected || provider.hasFullKnowledge()) {
+            // Learned through a path that bypasses the learn event (commands, other mods, the tome)
+            entry.known.clear();
+            entry.known.or(rebuild(provider));
+        }
+        entry.knowledgeSize = size;
+        entry.pendingLearns = 0;
+        save(player, entry);
+    }
+
+    private static Entry load(ServerPlayer player) {
+        IKnowledgeProvider provider = knowledge(player);
+        int size = provider.getKnowledge().size();
+        CompoundTag data = player.getPersistentData();
+        if (data.contains(TAG_KNOWN) && data.getInt(TAG_TABLE) == tableFingerprint()
+                && data.getInt(TAG_KNOWLEDGE_SIZE) == size && !provider.hasFullKnowledge()) {
+            return new Entry(BitSet.valueOf(data.getLongArray(TAG_KNOWN)), size);
+        }
+        Entry entry = new Entry(rebuild(provider), size);
+        save(player, entry);
+        return entry;
+    }
+
+    private static void save(Player player, Entry entry) {
+        CompoundTag data = player.getPersistentData();
+        data.putLongArray(TAG_KNOWN, entry.known.toLongArray());
+        data.putInt(TAG_TABLE, tableFingerprint());
+        data.putInt(TAG_KNOWLEDGE_SIZE, entry.knowledgeSize + entry.pendingLearns);
+    }
+
+    /**
+     * Builds a player's bits from ProjectE's full knowledge list.
+     */
+    private static BitSet rebuild(IKnowledgeProvider provider) {
+        BitSet known = new BitSet(PixelEMapper.getConfiguredItemCount());
+        if (provider.hasFullKnowledge()) {
+            ItemInfo[] infos = slotInfos();
+            for (int slot = 0; slot < infos.length; slot++) {
+                if (infos[slot] != null) {
+                    known.set(slot);
+                }
+            }
+            return known;
+        }
+        for (ItemInfo info : provider.getKnowledge()) {
+            int slot = PixelEEMCService.slotOf(info.getItem());
+            if (slot >= 0) {
+                known.set(slot);
+            }
+        }
+        return known;
+    }
+
+    private static IKnowledgeProvider knowledge(Player player) {
+        return player.getCapability(PECapabilities.KNOWLEDGE_CAPABILITY);
+    }
+
+    /**
+     * One mask of table slots per tier, rebuilt when the mapper's values change.
+     */
+    private static BitSet[] tierMasks() {
+        int revision = PixelEMapper.getRevision();
+        if (tierMasks == null || tierRevision != revision) {
+            BitSet[] masks = new BitSet[PixelETier.values().length];
+            for (int i = 0; i < masks.length; i++) {
+                masks[i] = new BitSet(PixelEMapper.getConfiguredItemCount());
+            }
+            for (int slot = 0; slot < PixelEMapper.getConfiguredItemCount(); slot++) {
+                masks[PixelETier.of(PixelEMapper.getEmcValue(slot)).ordinal()].set(slot);
+            }
+            tierMasks = masks;
+            tierRevision = revision;
+        }
+        return tierMasks;
+    }
+
+    /**
+     * ProjectE item info per table slot, or null for items missing from the registry.
+     */
+    private static ItemInfo[] slotInfos() {
+        if (slotInfos == null) {
+            ItemInfo[] infos = new ItemInfo[PixelEMapper.getConfiguredItemCount()];
+            for (int slot = 0; slot < infos.length; slot++) {
+                Optional<Item> item = PixelEMapper.resolveItem(slot);
+                infos[slot] = item.map(ItemInfo::fromItem).orElse(null);
+            }
+            slotInfos = infos;
+        }
+        return slotInfos;
+    }
+
+    /**
+     * Identifies the slot layout, so bits saved against a different table are not misread.
+     */
+    private static int tableFingerprint() {
+        if (tableFingerprint == 0) {
+            String[] ids = new String[PixelEMapper.getConfiguredItemCount()];
+            for (int slot = 0; slot < ids.length; slot++) {
+                ids[slot] = PixelEMapper.getItemId(slot);
+            }
+            tableFingerprint = Arrays.hashCode(ids) | 1;
+        }
+        return tableFingerprint;
+    }
+}
@@ -0,0 +1,334 @@
+package com.pixele;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.mojang.serialization.JsonOps;
+import moze_intel.projecte.api.proxy.IEMCProxy;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.RegistryOps;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.storage.loot.LootTable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputes the expected EMC yield of loot tables that involve Pixelmon items.
+ *
+ * Loot tables are walked through their codec-encoded JSON, which exposes pools, weights, roll counts,
+ * set_count functions and random_chance conditions without reaching into private fields. Tables are
+ * evaluated in parallel into partial results; references to other tables are resolved afterwards.
+ * On reload, a table whose encoded form and item prices are unchanged reuses its previous partial
+ * result. The published index is immutable and replaced as a whole.
+ */
+public class PixelELoot {
+
+    private static final String PIXELMON_PREFIX = "pixelmon:";
+    private static final String LOOT_REPORT = "loot-emc.csv";
+
+    /**
+     * Expected EMC of one loot table.
+     *
+     * @param perRoll expected EMC of a single roll of each pool, in pool order
+     * @param perDefeat expected EMC of one full generation (one defeat, catch or chest)
+     */
+    public record LootValue(ResourceLocation table, List<Double> perRoll, double perDefeat) {}
+
+    /**
+     * A table evaluated on its own: its direct EMC plus references to other tables, with multipliers.
+     * Keeps the encoded table's hash and the item prices it was evaluated with to detect staleness.
+     */
+    private record Partial(int hash, Map<ResourceLocation, Long> prices, List<Double> perRoll, double directEmc,
+                           Map<String, Double> references, boolean pixelmonItems) {
+
+        boolean isCurrent(int currentHash) {
+            if (hash != currentHash) {
+                return false;
+            }
+            for (Map.Entry<ResourceLocation, Long> price : prices.entrySet()) {
+                if (price(price.getKey()) != price.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static volatile Map<ResourceLocation, LootValue> index = Map.of();
+    private static final Map<ResourceLocation, Partial> PARTIALS = new ConcurrentHashMap<>();
+
+    /**
+     * The current immutable index.
+     */
+    public static Map<ResourceLocation, LootValue> getIndex() {
+        return index;
+    }
+
+    /**
+     * Recomputes the index, reusing the partial results of tables whose content and item prices did not change.
+     *
+     * @return the number of tables that had to be re-evaluated
+     */
+    public static int recompute(MinecraftServer server) {
+        long start = System.nanoTime();
+        // /reload replaces the loot tables on the server thread, so they are listed there; the tables themselves are immutable
+        Map<ResourceLocation, LootTable> tables = PixelEStartup.onServerThread(server, () -> {
+            var registries = server.reloadableRegistries();
+            Map<ResourceLocation, LootTable> byKey = new HashMap<>();
+            for (ResourceLocation key : registries.getKeys(Registries.LOOT_TABLE)) {
+                byKey.put(key, registries.getLootTable(ResourceKey.create(Registries.LOOT_TABLE, key)));
+            }
+            return byKey;
+        });
+        return recompute(tables, server.registryAccess().createSerializationContext(JsonOps.INSTANCE), start);
+    }
+
+    private static synchronized int recompute(Map<ResourceLocation, LootTable> tables, RegistryOps<JsonElement> ops, long start) {
+        Collection<ResourceLocation> keys = tables.keySet();
+
+        Set<ResourceLocation> changed = ConcurrentHashMap.newKeySet();
+        keys.parallelStream().forEach(key -> {
+            LootTable table = tables.get(key);
+            JsonElement json = LootTable.DIRECT_CODEC.encodeStart(ops, table).result().orElse(null);
+            if (json == null || !json.isJsonObject()) {
+                PARTIALS.remove(key);
+                return;
+            }
+            int hash = json.hashCode();
+            Partial previous = PARTIALS.get(key);
+            if (previous == null || !previous.isCurrent(hash)) {
+                PARTIALS.put(key, evaluate(json.getAsJsonObject(), hash));
+                changed.add(key);
+            }
+        });
+        PARTIALS.keySet().retainAll(new HashSet<>(keys));
+
+        Map<ResourceLocation, Double> resolved = new HashMap<>();
+        Map<ResourceLocation, LootValue> values = new HashMap<>();
+        for (Map.Entry<ResourceLocation, Partial> entry : PARTIALS.entrySet()) {
+            if (!entry.getKey().getNamespace().equals("pixelmon") && !entry.getValue().pixelmonItems()) {
+                continue;
+            }
+            double perDefeat = resolve(entry.getKey(), resolved, new HashSet<>());
+            values.put(entry.getKey(), new LootValue(entry.getKey(), entry.getValue().perRoll(), perDefeat));
+        }
+        index = Map.copyOf(values);
+
+        PixelEBridge.LOGGER.info("Loot EMC index: {} Pixelmon tables, {} of {} tables re-evaluated in {} ms",
+                values.size(), changed.size(), keys.size(), (System.nanoTime() - start) / 1_000_000);
+        return changed.size();
+    }
+
+    /**
+     * Writes the index as CSV, highest yield first, for spreadsheet balancing.
+     */
+    public static Path writeReport() throws IOException {
+        List<LootValue> values = new ArrayList<>(index.values());
+        values.sort((a, b) -> Double.compare(b.perDefeat(), a.perDefeat()));
+
+        List<String> lines = new ArrayList<>(values.size() + 1);
+        lines.add("table,expected_emc_per_defeat,expected_emc_per_roll_by_pool");
+        for (LootValue value : values) {
+            StringBuilder perRoll = new StringBuilder();
+            for (double roll : value.perRoll()) {
+                perRoll.append(perRoll.isEmpty() ? "" : ";").append(String.format("%.1f", roll));
+            }
+            lines.add(value.table() + "," + String.format("%.1f", value.perDefeat()) + "," + perRoll);
+        }
+
+        Path report = PixelEDiagnostics.reportFile(LOOT_REPORT);
+        Files.createDirectories(report.getParent());
+        Files.write(report, lines);
+        return report;
+    }
+
+    private static double resolve(ResourceLocation table, Map<ResourceLocation, Double> resolved, Set<ResourceLocation> visiting) {
+        Double known = resolved.get(table);
+        if (known != null) {
+            return known;
+        }
+        Partial partial = PARTIALS.get(table);
+        if (partial == null || !visiting.add(table)) {
+            // Missing or self-referencing tables contribute nothing
+            return 0;
+        }
+
+        double total = partial.directEmc();
+        for (Map.Entry<String, Double> reference : partial.references().entrySet()) {
+            ResourceLocation target = ResourceLocation.tryParse(reference.getKey());
+            if (target != null) {
+                total += reference.getValue() * resolve(target, resolved, visiting);
+            }
+        }
+        visiting.remove(table);
+        resolved.put(table, total);
+        return total;
+    }
+
+    private static Partial evaluate(JsonObject table, int hash) {
+        List<Double> perRoll = new ArrayList<>();
+        Map<ResourceLocation, Long> prices = new HashMap<>();
+        Map<String, Double> references = new HashMap<>();
+        double direct = 0;
+        boolean pixelmonItems = false;
+
+        JsonArray pools = table.has("pools") ? table.getAsJsonArray("pools") : new JsonArray();
+        for (JsonElement poolElement : pools) {
+            JsonObject pool = poolElement.getAsJsonObject();
+            double rolls = mean(pool.get("rolls")) * chance(pool);
+            JsonArray entries = pool.has("entries") ? pool.getAsJsonArray("entries") : new JsonArray();
+
+            double totalWeight = 0;
+            for (JsonElement entry : entries) {
+                totalWeight += weight(entry.getAsJsonObject());
+            }
+
+            Roll roll = new Roll(prices);
+            for (JsonElement entry : entries) {
+                double share = totalWeight > 0 ? weight(entry.getAsJsonObject()) / totalWeight : 0;
+                walkEntry(entry.getAsJsonObject(), share, roll);
+            }
+            perRoll.add(roll.emc);
+            direct += rolls * roll.emc;
+            pixelmonItems |= roll.pixelmonItems;
+            for (Map.Entry<String, Double> reference : roll.references.entrySet()) {
+                references.merge(reference.getKey(), reference.getValue() * rolls, Double::sum);
+            }
+        }
+        return new Partial(hash, Map.copyOf(prices), List.copyOf(perRoll), direct, Map.copyOf(references), pixelmonItems);
+    }
+
+    /**
+     * Accumulates one pool roll: expected item EMC and the probability of each referenced table.
+     */
+    private static class Roll {
+        final Map<ResourceLocation, Long> prices;
+        final Map<String, Double> references = new HashMap<>();
+        double emc;
+        boolean pixelmonItems;
+
+        Roll(Map<ResourceLocation, Long> prices) {
+            this.prices = prices;
+        }
+    }
+
+    private static void walkEntry(JsonObject entry, double share, Roll roll) {
+        String type = entry.has("type") ? entry.get("type").getAsString() : "";
+        double probability = share * chance(entry);
+
+        switch (type) {
+            case "minecraft:item" -> {
+                String name = entry.get("name").getAsString();
+                ResourceLocation id = ResourceLocation.tryParse(name);
+                long emc = id == null ? 0 : price(id);
+                if (id != null) {
+                    roll.prices.put(id, emc);
+                }
+                roll.emc += probability * count(entry) * emc;
+                roll.pixelmonItems |= name.startsWith(PIXELMON_PREFIX);
+            }
+            case "minecraft:loot_table" -> {
+                JsonElement value = entry.get("value");
+                if (value != null && value.isJsonPrimitive()) {
+                    roll.references.merge(value.getAsString(), probability, Double::sum);
+                }
+            }
+            case "minecraft:group", "minecraft:sequence" -> {
+                for (JsonElement child : children(entry)) {
+                    walkEntry(child.getAsJsonObject(), probability, roll);
+                }
+            }
+            case "minecraft:alternatives" -> {
+                JsonArray children = children(entry);
+                if (!children.isEmpty()) {
+                    // Conditions are not evaluated, so the first alternative stands in for the branch
+                    walkEntry(children.get(0).getAsJsonObject(), probability, roll);
+                }
+            }
+            default -> {
+                // Tags, dynamic and empty entries yield no fixed item
+            }
+        }
+    }
+
+    private static long price(ResourceLocation itemId) {
+        return BuiltInRegistries.ITEM.getOptional(itemId).map(IEMCProxy.INSTANCE::getValue).orElse(0L);
+    }
+
+    private static JsonArray children(JsonObject entry) {
+        return entry.has("children") ? entry.getAsJsonArray("children") : new JsonArray();
+    }
+
+    private static double weight(JsonObject entry) {
+        return entry.has("weight") ? entry.get("weight").getAsDouble() : 1;
+    }
+
+    /**
+     * Mean stack size from set_count functions; other functions do not change the count.
+     */
+    private static double count(JsonObject entry) {
+        double count = 1;
+        if (entry.has("functions")) {
+            for (JsonElement function : entry.getAsJsonArray("functions")) {
+                JsonObject object = function.getAsJsonObject();
+                if ("minecraft:set_count".equals(object.get("function").getAsString())) {
+                    boolean add = object.has("add") && object.get("add").getAsBoolean();
+                    count = add ? count + mean(object.get("count")) : mean(object.get("count"));
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Probability from random_chance conditions. Other conditions (killed by player, etc.) are assumed to pass.
+     */
+    private static double chance(JsonObject owner) {
+        double chance = 1;
+        if (owner.has("conditions")) {
+            for (JsonElement condition : owner.getAsJsonArray("conditions")) {
+                JsonObject object = condition.getAsJsonObject();
+                String type = object.get("condition").getAsString();
+                if ("minecraft:random_chance".equals(type)) {
+                    chance *= mean(object.get("chance"));
+                } else if ("minecraft:random_chance_with_enchanted_bonus".equals(type)) {
+                    chance *= mean(object.get("unenchanted_chance"));
+                }
+            }
+        }
+        return chance;
+    }
+
+    /**
+     * Mean of a number provider: a plain number, constant, uniform or binomial.
+     */
+    private static double mean(JsonElement provider) {
+        if (provider == null) {
+            return 1;
+        }
+        if (provider.isJsonPrimitive()) {
+            return provider.getAsDouble();
+        }
+        JsonObject object = provider.getAsJsonObject();
+        String type = object.has("type") ? object.get("type").getAsString() : "minecraft:uniform";
+        return switch (type) {
+            case "minecraft:constant" -> object.get("value").getAsDouble();
+            case "minecraft:uniform" -> (mean(object.get("min")) + mean(object.get("max"))) / 2;
+            case "minecraft:binomial" -> mean(object.get("n")) * mean(object.get("p"));
+            default -> 1;
+        };
+    }
+}
@@ -5,7 +5,11 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
 import net.neoforged.fml.InterModComms;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -24,11 +28,48 @@ public class PixelEMapper {
     
     private static final String PIXELMON_NAMESPACE = "pixelmon";
     
+    // Live registry and IMC; registerAll() also accepts stand-ins for benchmarking
+    private static final ItemLookup REGISTRY_LOOKUP = new ItemLookup() {
+        @Override
+        public boolean contains(ResourceLocation itemId) {
+            return BuiltInRegistries.ITEM.containsKey(itemId);
+        }
+        
+        @Override
+        public Iterable<ResourceLocation> keys() {
+            return BuiltInRegistries.ITEM.keySet();
+        }
+    };
+    
+    private static final EMCSink IMC_SINK = (itemId, emcValue) ->
+            InterModComms.sendTo("projecte", "register_emc", () -> new EMCMessage(itemId, emcValue));
+    
     // Using LinkedHashMap to maintain insertion order for organized logging
     private static final Map<String, Long> EMC_VALUES = new LinkedHashMap<>();
     
+    // Recipe-derived entries; their values are computed from the base entries they are crafted from
+    private static final List<PixelEDeriver.Rule> DERIVATION_RULES = new ArrayList<>();
+    private static final PixelEDeriver DERIVER;
+    
+    // Dense view of the table: one slot per entry, in insertion order, with its category
+    // ordinal in a parallel array. Effective EMC = BASE_VALUES[slot] * CATEGORY_MULTIPLIERS[category].
+    private static final Map<String, PixelECategory> ENTRY_CATEGORIES = new HashMap<>();
+    private static final Map<String, Integer> SLOTS = new HashMap<>();
+    private static final String[] SLOT_IDS;
+    private static final long[] BASE_VALUES;
+    private static final byte[] SLOT_CATEGORIES;
+    private static final double[] CATEGORY_MULTIPLIERS = new double[PixelECategory.values().length];
+    private static PixelECategory currentCategory;
+    
+    // Bumped on every value change so caches derived from effective values know to rebuild
+    private static volatile int revision;
+    
+    // Values from the shared table snapshot by slot (-1 where it has none); replaced as a whole
+    private static volatile long[] sharedValues;
+    
     static {
         // ==================== APRICORNS (Base crafting materials) ====================
+        category(PixelECategory.APRICORNS);
         addItem("red_apricorn", 64);
         addItem("yellow_apricorn", 64);
         addItem("blue_apricorn", 64);
@@ -47,6 +88,7 @@ public class PixelEMapper {
         addItem("cooked_white_apricorn", 256);
         
         // ==================== RAW ORES ====================
+        category(PixelECategory.RAW_ORES);
         addItem("bauxite_ore", 256);
         addItem("silicon_ore", 256);
         addItem("amethyst_ore", 512);
@@ -69,25 +111,26 @@ public class PixelEMapper {
         addItem("ice_stone_ore", 8192);
         
         // ==================== PROCESSED MATERIALS ====================
+        category(PixelECategory.PROCESSED_MATERIALS);
         addItem("silicon", 512);
-        addItem("silicon_block", 4608);
+        addDerived("silicon_block", "silicon", 9);
         addItem("aluminum_ingot", 1024);
         addItem("aluminum_plate", 1024);
-        addItem("aluminum_block", 9216);
+        addDerived("aluminum_block", "aluminum_ingot", 9);
         addItem("platinum_ingot", 8192);
-        addItem("platinum_block", 73728);
+        addDerived("platinum_block", "platinum_ingot", 9);
         addItem("silver_ingot", 4096);
-        addItem("silver_block", 36864);
+        addDerived("silver_block", "silver_ingot", 9);
         
         // Gems and crystals
         addItem("amethyst", 2048);
-        addItem("amethyst_block", 18432);
+        addDerived("amethyst_block", "amethyst", 9);
         addItem("crystal", 2048);
-        addItem("crystal_block", 18432);
+        addDerived("crystal_block", "crystal", 9);
         addItem("ruby", 8192);
-        addItem("ruby_block", 73728);
+        addDerived("ruby_block", "ruby", 9);
         addItem("sapphire", 8192);
-        addItem("sapphire_block", 73728);
+        addDerived("sapphire_block", "sapphire", 9);
         
         // Evolution stone shards (4 shards = 1 stone typically)
         addItem("fire_stone_shard", 4096);
@@ -102,6 +145,7 @@ public class PixelEMapper {
         addItem("ice_stone_shard", 8192);
         
         // ==================== POKÉ BALL PARTS ====================
+        category(PixelECategory.BALL_PARTS);
         addItem("poke_ball_lid", 512);
         addItem("great_ball_lid", 1024);
         addItem("ultra_ball_lid", 2048);
@@ -144,6 +188,7 @@ public class PixelEMapper {
         addItem("wooden_base", 128);
         
         // ==================== POKÉ BALLS ====================
+        category(PixelECategory.POKE_BALLS);
         addItem("poke_ball", 2048);
         addItem("great_ball", 4096);
         addItem("ultra_ball", 8192);
@@ -192,18 +237,20 @@ public class PixelEMapper {
         addItem("gigaton_ball", 16384);
         
         // ==================== EVOLUTION STONES ====================
-        addItem("fire_stone", 16384);
-        addItem("water_stone", 16384);
-        addItem("thunder_stone", 16384);
-        addItem("leaf_stone", 16384);
-        addItem("moon_stone", 16384);
-        addItem("sun_stone", 16384);
-        addItem("dawn_stone", 32768);
-        addItem("dusk_stone", 32768);
-        addItem("shiny_stone", 32768);
-        addItem("ice_stone", 32768);
+        category(PixelECategory.EVOLUTION_STONES);
+        addDerived("fire_stone", "fire_stone_shard", 4);
+        addDerived("water_stone", "water_stone_shard", 4);
+        addDerived("thunder_stone", "thunder_stone_shard", 4);
+        addDerived("leaf_stone", "leaf_stone_shard", 4);
+        addDerived("moon_stone", "moon_stone_shard", 4);
+        addDerived("sun_stone", "sun_stone_shard", 4);
+        addDerived("dawn_stone", "dawn_stone_shard", 4);
+        addDerived("dusk_stone", "dusk_stone_shard", 4);
+        addDerived("shiny_stone", "shiny_stone_shard", 4);
+        addDerived("ice_stone", "ice_stone_shard", 4);
         
         // ==================== EVOLUTION ITEMS ====================
+        category(PixelECategory.EVOLUTION_ITEMS);
         addItem("black_augurite", 65536);   // 64k
         addItem("chipped_pot", 65536);
         addItem("cracked_pot", 65536);
@@ -232,6 +279,7 @@ public class PixelEMapper {
         addItem("whipped_dream", 65536);
         
         // ==================== FOSSILS ====================
+        category(PixelECategory.FOSSILS);
         addItem("fossil", 16384);
         addItem("covered_fossil", 16384);
         addItem("helix_fossil", 65536);   // 64k - Rare
@@ -251,6 +299,7 @@ public class PixelEMapper {
         addItem("dino_fossil", 65536);
         
         // ==================== MEDICINE - HEALING ====================
+        category(PixelECategory.MEDICINE);
         addItem("potion", 256);
         addItem("super_potion", 512);
         addItem("hyper_potion", 1024);
@@ -297,6 +346,7 @@ public class PixelEMapper {
         addItem("max_mushrooms", 65536);   // 64k
         
         // ==================== VITAMINS & TRAINING ====================
+        category(PixelECategory.VITAMINS);
         addItem("hp_up", 32768);
         addItem("protein", 32768);
         addItem("iron", 32768);
@@ -331,6 +381,7 @@ public class PixelEMapper {
         addItem("ability_patch", 524288);      // 512k - Ultra rare
         
         // ==================== BATTLE ITEMS ====================
+        category(PixelECategory.BATTLE_ITEMS);
         addItem("x_attack", 1024);
         addItem("x_defense", 1024);
         addItem("x_sp_atk", 1024);
@@ -349,6 +400,7 @@ public class PixelEMapper {
         addItem("white_flute", 2048);
         
         // ==================== BERRIES ====================
+        category(PixelECategory.BERRIES);
         // Status-curing berries
         addItem("cheri_berry", 64);
         addItem("chesto_berry", 64);
@@ -436,6 +488,7 @@ public class PixelEMapper {
         addItem("yago_berry", 128);
         
         // ==================== MINTS ====================
+        category(PixelECategory.MINTS);
         addItem("mint_seeds", 2048);
         addItem("mint_adamant", 16384);
         addItem("mint_bold", 16384);
@@ -464,6 +517,7 @@ public class PixelEMapper {
         addItem("mint_quirky", 16384);
         
         // ==================== INCENSES ====================
+        category(PixelECategory.INCENSES);
         addItem("full_incense", 16384);
         addItem("lax_incense", 16384);
         addItem("luck_incense", 16384);
@@ -476,6 +530,7 @@ public class PixelEMapper {
         addItem("incense_burner", 8192);
         
         // ==================== TYPE GEMS ====================
+        category(PixelECategory.TYPE_GEMS);
         addItem("bug_gem", 8192);
         addItem("dark_gem", 8192);
         addItem("dragon_gem", 8192);
@@ -496,6 +551,7 @@ public class PixelEMapper {
         addItem("water_gem", 8192);
         
         // ==================== ARCEUS PLATES ====================
+        category(PixelECategory.ARCEUS_PLATES);
         addItem("blank_plate", 16384);
         addItem("draco_plate", 65536);
         addItem("dread_plate", 65536);
@@ -517,12 +573,14 @@ public class PixelEMapper {
         addItem("zap_plate", 65536);
         
         // ==================== GENESECT DRIVES ====================
+        category(PixelECategory.GENESECT_DRIVES);
         addItem("burn_drive", 65536);
         addItem("chill_drive", 65536);
         addItem("douse_drive", 65536);
         addItem("shock_drive", 65536);
         
         // ==================== HELD ITEMS - BATTLE ====================
+        category(PixelECategory.HELD_ITEMS);
         addItem("absorb_bulb", 8192);
         addItem("adamant_orb", 131072);    // 128k
         addItem("adrenaline_orb", 8192);
@@ -624,6 +682,7 @@ public class PixelEMapper {
         addItem("zoom_lens", 16384);
         
         // ==================== MEGA STONES ====================
+        category(PixelECategory.MEGA_STONES);
         long MEGA_STONE_EMC = 131072;  // 128k for all mega stones
         addItem("abomasite", MEGA_STONE_EMC);
         addItem("absolite", MEGA_STONE_EMC);
@@ -674,6 +733,7 @@ public class PixelEMapper {
         addItem("venusaurite", MEGA_STONE_EMC);
         
         // ==================== Z-CRYSTALS ====================
+        category(PixelECategory.Z_CRYSTALS);
         long TYPE_Z_CRYSTAL_EMC = 65536;  // 64k for type Z-crystals
         long SPECIAL_Z_CRYSTAL_EMC = 131072;  // 128k for Pokemon-specific
         
@@ -717,6 +777,7 @@ public class PixelEMapper {
         addItem("ultranecrozium_z", 262144);  // 256k - Ultra rare
         
         // ==================== VALUABLE ITEMS ====================
+        category(PixelECategory.VALUABLES);
         addItem("tiny_mushroom", 256);
         addItem("big_mushroom", 2048);
         addItem("balm_mushroom", 32768);
@@ -742,6 +803,7 @@ public class PixelEMapper {
         addItem("strange_souvenir", 16384);
         
         // ==================== TOOLS ====================
+        category(PixelECategory.TOOLS);
         addItem("old_rod", 1024);
         addItem("good_rod", 4096);
         addItem("super_rod", 16384);
@@ -777,6 +839,7 @@ public class PixelEMapper {
         addItem("dusk_stone_hammer", 65536);
         
         // ==================== MACHINES ====================
+        category(PixelECategory.MACHINES);
         addItem("anvil", 16384);
         addItem("mechanical_anvil", 65536);
         addItem("pc", 32768);
@@ -817,11 +880,13 @@ public class PixelEMapper {
         addItem("yellow_vending_machine", 16384);
         
         // ==================== REPELS ====================
+        category(PixelECategory.REPELS);
         addItem("repel", 512);
         addItem("super_repel", 1024);
         addItem("max_repel", 2048);
         
         // ==================== LEGENDARY ITEMS ====================
+        category(PixelECategory.LEGENDARY_ITEMS);
         addItem("azure_flute", 524288);      // 512k
         addItem("dna_splicers", 262144);     // 256k
         addItem("gracidea", 131072);         // 128k
@@ -860,6 +925,7 @@ public class PixelEMapper {
         addItem("porygon_tail", 16384);
         
         // ==================== TM/HM BASE VALUES ====================
+        category(PixelECategory.TMS);
         // TMs - 16k each
         for (int i = 1; i <= 174; i++) {
             addItem("tm" + i, 16384);
@@ -871,7 +937,8 @@ public class PixelEMapper {
         }
         
         // ==================== ARMOR ====================
-        // Aluminum armor
+        category(PixelECategory.ARMOR);
+        // Aluminum armor - kept literal: the 5/8/7/4-ingot recipes would price every piece higher
         addItem("aluminum_helmet", 4096);
         addItem("aluminum_chestplate", 6144);
         addItem("aluminum_leggings", 5120);
@@ -917,10 +984,156 @@ public class PixelEMapper {
         addItem("magma_chestplate", 24576);
         addItem("magma_leggings", 20480);
         addItem("magma_boots", 12288);
+        
+        // ==================== RECIPE-DERIVED VALUES ====================
+        DERIVER = new PixelEDeriver(DERIVATION_RULES);
+        EMC_VALUES.putAll(DERIVER.deriveAll(EMC_VALUES));
+        
+        // ==================== DENSE TABLE ====================
+        SLOT_IDS = EMC_VALUES.keySet().toArray(new String[0]);
+        BASE_VALUES = new long[SLOT_IDS.length];
+        SLOT_CATEGORIES = new byte[SLOT_IDS.length];
+        for (int slot = 0; slot < SLOT_IDS.length; slot++) {
+            SLOTS.put(SLOT_IDS[slot], slot);
+            BASE_VALUES[slot] = EMC_VALUES.get(SLOT_IDS[slot]);
+            SLOT_CATEGORIES[slot] = (byte) ENTRY_CATEGORIES.get(SLOT_IDS[slot]).ordinal();
+        }
+        Arrays.fill(CATEGORY_MULTIPLIERS, 1.0);
+    }
+    
+    /**
+     * Sets the category for the entries added after this call, mirroring the section comments.
+     */
+    private static void category(PixelECategory category) {
+        currentCategory = category;
     }
     
     private static void addItem(String id, long emc) {
         EMC_VALUES.put(id, emc);
+        ENTRY_CATEGORIES.put(id, currentCategory);
+    }
+    
+    /**
+     * Adds an item whose EMC is derived from its recipe: count x input.
+     * The placeholder keeps the item in its section's position for logging.
+     */
+    private static void addDerived(String id, String input, int count) {
+        addItem(id, 0L);
+        DERIVATION_RULES.add(new PixelEDeriver.Rule(id, 1, List.of(new PixelEDeriver.Input(input, count))));
+    }
+    
+    /**
+     * Changes the base EMC value of an item and recomputes every recipe-derived item that depends on it.
+     * 
+     * @param itemId The item ID (without namespace)
+     * @param emcValue The new base EMC value
+     * @return the number of derived items that were recomputed
+     */
+    public static synchronized int setBaseValue(String itemId, long emcValue) {
+        if (emcValue < 0) {
+            throw new IllegalArgumentException("EMC value must not be negative: " + emcValue);
+        }
+        if (DERIVER.isDerived(itemId)) {
+            throw new IllegalArgumentException(itemId + " is recipe-derived; change its inputs instead");
+        }
+        Integer slot = SLOTS.get(itemId);
+        if (slot == null) {
+            throw new IllegalArgumentException(itemId + " is not in the EMC table");
+        }
+        EMC_VALUES.put(itemId, emcValue);
+        BASE_VALUES[slot] = emcValue;
+        
+        Map<String, Long> recomputed = DERIVER.recompute(itemId, EMC_VALUES);
+        for (Map.Entry<String, Long> entry : recomputed.entrySet()) {
+            EMC_VALUES.put(entry.getKey(), entry.getValue());
+            BASE_VALUES[SLOTS.get(entry.getKey())] = entry.getValue();
+        }
+        revision++;
+        return recomputed.size();
+    }
+    
+    /**
+     * Rebalances a whole category. This is a single array write; the table is not rebuilt.
+     * Recipe derivation runs on base values, so derived entries follow their own category's
+     * multiplier rather than their inputs'.
+     * 
+     * @param category The category to rebalance
+     * @param multiplier Factor applied to the base value of every entry in the category
+     */
+    public static void setCategoryMultiplier(PixelECategory category, double multiplier) {
+        if (!(multiplier > 0)) {
+            throw new IllegalArgumentException("Category multiplier must be positive: " + multiplier);
+        }
+        CATEGORY_MULTIPLIERS[category.ordinal()] = multiplier;
+        revision++;
+    }
+    
+    public static double getCategoryMultiplier(PixelECategory category) {
+        return CATEGORY_MULTIPLIERS[category.ordinal()];
+    }
+    
+    /**
+     * Swaps in the values of a shared table snapshot, which take precedence over this table's own.
+     * 
+     * @param valuesBySlot EMC per table slot, -1 for entries the snapshot does not cover; null to drop the snapshot
+     */
+    static void setSharedValues(long[] valuesBySlot) {
+        if (valuesBySlot != null && valuesBySlot.length != SLOT_IDS.length) {
+            throw new IllegalArgumentException("Shared values cover " + valuesBySlot.length + " slots, table has " + SLOT_IDS.length);
+        }
+        sharedValues = valuesBySlot;
+        revision++;
+    }
+    
+    /**
+     * A counter that changes whenever any effective value may have changed.
+     */
+    public static int getRevision() {
+        return revision;
+    }
+    
+    /**
+     * Gets the effective EMC of a table slot: the shared table value if one is loaded, else base x category multiplier.
+     */
+    public static long getEmcValue(int slot) {
+        long[] shared = sharedValues;
+        if (shared != null && shared[slot] >= 0) {
+            return shared[slot];
+        }
+        return Math.round(BASE_VALUES[slot] * CATEGORY_MULTIPLIERS[SLOT_CATEGORIES[slot]]);
+    }
+    
+    /**
+     * Gets the effective EMC of an item, or 0 if it is not in the table.
+     * 
+     * @param itemId The item ID (without namespace)
+     */
+    public static long getEmcValue(String itemId) {
+        Integer slot = SLOTS.get(itemId);
+        return slot == null ? 0 : getEmcValue(slot);
+    }
+    
+    /**
+     * Gets the dense table slot of an item, or -1 if it is not in the table.
+     */
+    public static int getSlot(String itemId) {
+        return SLOTS.getOrDefault(itemId, -1);
+    }
+    
+    public static String getItemId(int slot) {
+        return SLOT_IDS[slot];
+    }
+    
+    public static PixelECategory getCategory(int slot) {
+        return PixelECategory.byOrdinal(SLOT_CATEGORIES[slot]);
+    }
+    
+    /**
+     * Resolves the registered item for a table slot, if Pixelmon provides it.
+     */
+    public static Optional<Item> resolveItem(int slot) {
+        ResourceLocation itemLocation = ResourceLocation.tryBuild(PIXELMON_NAMESPACE, SLOT_IDS[slot]);
+        return itemLocation == null ? Optional.empty() : BuiltInRegistries.ITEM.getOptional(itemLocation);
     }
     
     /**
@@ -930,19 +1143,75 @@ public class PixelEMapper {
     public static void registerEMCValues() {
         PixelEBridge.LOGGER.info("Registering EMC values for Pixelmon items...");
         
-        int registered = 0;
-        int failed = 0;
+        // One value per item: entries the bundled custom conversions already pin are not sent again
+        boolean[] publish = PixelEMerge.mergeForEnqueue();
+        // Items ProjectE's recipes reproduced at the same value on the last start are left to ProjectE
+        int avoided = PixelEDispatch.skipDerivable(publish);
+        List<String> itemIds = new ArrayList<>(SLOT_IDS.length);
+        long[] emcValues = new long[SLOT_IDS.length];
+        int unvalued = 0;
+        for (int slot = 0; slot < SLOT_IDS.length; slot++) {
+            // A register_emc of 0 would remove the item's EMC in ProjectE, so unvalued slots are never sent
+            if (publish[slot] && getEmcValue(slot) <= 0) {
+                unvalued++;
+            } else if (publish[slot]) {
+                emcValues[itemIds.size()] = getEmcValue(slot);
+                itemIds.add(SLOT_IDS[slot]);
+            }
+        }
+        
+        List<String> missing = new ArrayList<>();
+        int registered = registerAll(itemIds.toArray(new String[0]), emcValues, REGISTRY_LOOKUP, IMC_SINK, missing);
+        
+        int attempted = itemIds.size();
+        int skippedUnvalued = unvalued;
         
-        for (Map.Entry<String, Long> entry : EMC_VALUES.entrySet()) {
-            if (registerSingleItem(entry.getKey(), entry.getValue())) {
+        PixelEStartup.defer("registration summary", () -> {
+            PixelEBridge.LOGGER.info("EMC Registration complete: {} items registered, {} items not found in registry, {} sends avoided.",
+                    registered, attempted - registered, avoided);
+            if (skippedUnvalued > 0) {
+                PixelEBridge.LOGGER.warn("{} table entries have no EMC value (unresolved derivations) and were not sent.", skippedUnvalued);
+            }
+            
+            if (!missing.isEmpty()) {
+                // The registry is frozen, so listing the namespace is safe on any thread; the fuzzy matching runs on its own
+                PixelEDiagnostics.diagnoseAsync(missing, namespaceIds(REGISTRY_LOOKUP));
+            }
+        });
+    }
+    
+    /**
+     * The registration pipeline, independent of the live registry and IMC so it can be
+     * driven by stand-ins (see the bench source set).
+     * 
+     * @param itemIds Item IDs (without namespace)
+     * @param emcValues EMC value for each ID, by index
+     * @param lookup Resolves which items exist
+     * @param sink Receives one message per resolved item
+     * @param missing Collects IDs that are not in the registry, for the miss report
+     * @return the number of items sent
+     */
+    static int registerAll(String[] itemIds, long[] emcValues, ItemLookup lookup, EMCSink sink, List<String> missing) {
+        int registered = 0;
+        for (int i = 0; i < itemIds.length; i++) {
+            if (registerSingleItem(itemIds[i], emcValues[i], lookup, sink, missing)) {
                 registered++;
-            } else {
-                failed++;
             }
         }
-        
-        PixelEBridge.LOGGER.info("EMC Registration complete: {} items registered, {} items not found in registry.",
-                registered, failed);
+        return registered;
+    }
+    
+    /**
+     * Snapshots the paths of every registered item in the pixelmon namespace.
+     */
+    static List<String> namespaceIds(ItemLookup lookup) {
+        List<String> pixelmonIds = new ArrayList<>();
+        for (ResourceLocation key : lookup.keys()) {
+            if (PIXELMON_NAMESPACE.equals(key.getNamespace())) {
+                pixelmonIds.add(key.getPath());
+            }
+        }
+        return pixelmonIds;
     }
     
     /**
@@ -950,9 +1219,13 @@ public class PixelEMapper {
      * 
      * @param itemId The item ID (without namespace)
      * @param emcValue The EMC value to assign
+     * @param lookup Resolves which items exist
+     * @param sink Receives the message if the item exists
+     * @param missing Collects IDs that are not in the registry, for the miss report
      * @return true if registration was successful, false if item not found
      */
-    private static boolean registerSingleItem(String itemId, Long emcValue) {
+    private static boolean registerSingleItem(String itemId, long emcValue, ItemLookup lookup, EMCSink sink,
+                                              List<String> missing) {
         ResourceLocation itemLocation = ResourceLocation.tryBuild(PIXELMON_NAMESPACE, itemId);
         
         if (itemLocation == null) {
@@ -961,16 +1234,15 @@ public class PixelEMapper {
         }
         
         // Check if the item exists in the registry
-        Optional<Item> itemOpt = BuiltInRegistries.ITEM.getOptional(itemLocation);
-        
-        if (itemOpt.isEmpty()) {
+        if (!lookup.contains(itemLocation)) {
             PixelEBridge.LOGGER.debug("Item not found in registry: {}", itemLocation);
+            missing.add(itemId);
             return false;
         }
         
         // Send IMC message to ProjectE
         try {
-            InterModComms.sendTo("projecte", "register_emc", () -> new EMCMessage(itemLocation, emcValue));
+            sink.send(itemLocation, emcValue);
             PixelEBridge.LOGGER.debug("Registered EMC for {}: {}", itemLocation, emcValue);
             return true;
         } catch (Exception e) {
@@ -979,6 +1251,23 @@ public class PixelEMapper {
         }
     }
     
+    /**
+     * Which item IDs exist. Backed by BuiltInRegistries.ITEM in game.
+     */
+    interface ItemLookup {
+        boolean contains(ResourceLocation itemId);
+        
+        Iterable<ResourceLocation> keys();
+    }
+    
+    /**
+     * Where resolved EMC values are sent. Backed by InterModComms in game.
+     */
+    @FunctionalInterface
+    interface EMCSink {
+        void send(ResourceLocation itemId, long emcValue);
+    }
+    
     /**
      * Message record for InterModComms EMC registration.
      */
@@ -988,6 +1277,6 @@ public class PixelEMapper {
      * Get the total number of items configured.
      */
     public static int getConfiguredItemCount() {
-        return EMC_VALUES.size();
+        return SLOT_IDS.length;
     }
 }
@@ -0,0 +1,241 @@
+package com.pixele;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import moze_intel.projecte.api.proxy.IEMCProxy;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.packs.resources.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Merges every source of EMC for pixelmon:* items into one value per item.
+ *
+ * During InterModEnqueue only this mod's own sources are visible: the mapper table and the bundled
+ * pe_custom_conversions/pixele.json that ProjectE loads as a datapack. The table outranks the bundled
+ * file, so shared tables, category multipliers and base value changes apply to every item; the
+ * bundled file only supplies items the table does not cover, and an entry duplicating a table item
+ * is reported. Once the server has started, other datapacks' custom conversions and ProjectE's
+ * final mapped values are collected as well and every disagreement is written to the merge report.
+ *
+ * Other datapacks load after IMC is sent, so a datapack that wins only changes ProjectE's value.
+ * {@link com.pixele.api.PixelEEMCApi}, snapshots and tooltips keep reporting the table value; the
+ * merge report lists both.
+ */
+public class PixelEMerge {
+
+    private static final String CONVERSIONS_DIR = "pe_custom_conversions";
+    private static final String BUNDLED_CONVERSIONS = "/data/projecte/" + CONVERSIONS_DIR + "/pixele.json";
+    private static final String PIXELMON_PREFIX = "pixelmon:";
+    private static final String MERGE_REPORT = "merge-report.txt";
+
+    /**
+     * Where a value comes from. Declaration order is precedence: earlier sources win.
+     */
+    public enum Source {
+        DATAPACK,
+        MAPPER,
+        BUNDLED_CONVERSIONS
+    }
+
+    /**
+     * One source's value for an item.
+     */
+    public record Candidate(Source source, String origin, long value) {}
+
+    // Item path (without namespace) to its candidates, highest precedence first
+    private static final Map<String, List<Candidate>> CANDIDATES = new LinkedHashMap<>();
+
+    /**
+     * Collects the enqueue-time sources and decides which table slots are published over IMC.
+     *
+     * @return for each table slot, whether the mapper's value wins and must be sent
+     */
+    public static synchronized boolean[] mergeForEnqueue() {
+        CANDIDATES.clear();
+        for (int slot = 0; slot < PixelEMapper.getConfiguredItemCount(); slot++) {
+            add(PixelEMapper.getItemId(slot), new Candidate(Source.MAPPER, "PixelEMapper", PixelEMapper.getEmcValue(slot)));
+        }
+
+        try (InputStream stream = PixelEMerge.class.getResourceAsStream(BUNDLED_CONVERSIONS)) {
+            if (stream != null) {
+                readConversions(new InputStreamReader(stream, StandardCharsets.UTF_8), Source.BUNDLED_CONVERSIONS, BUNDLED_CONVERSIONS);
+            }
+        } catch (IOException | RuntimeException e) {
+            PixelEBridge.LOGGER.warn("Failed to read bundled custom conversions: {}", e.getMessage());
+        }
+
+        boolean[] publish = new boolean[PixelEMapper.getConfiguredItemCount()];
+        for (int slot = 0; slot < publish.length; slot++) {
+            publish[slot] = CANDIDATES.get(PixelEMapper.getItemId(slot)).get(0).source() == Source.MAPPER;
+        }
+
+        PixelEStartup.defer("merge summary", () -> logSummary(publish));
+        return publish;
+    }
+
+    private static synchronized void logSummary(boolean[] publish) {
+        int conflicts = 0;
+        int duplicated = 0;
+        for (List<Candidate> candidates : CANDIDATES.values()) {
+            if (isConflict(candidates)) {
+                conflicts++;
+            }
+            if (candidates.size() > 1 && candidates.get(0).source() == Source.MAPPER) {
+                duplicated++;
+            }
+        }
+        PixelEBridge.LOGGER.info("EMC merge: {} items, {} published over IMC, {} conflicting values.",
+                CANDIDATES.size(), countTrue(publish), conflicts);
+        if (duplicated > 0) {
+            PixelEBridge.LOGGER.warn("{} bundled custom conversions duplicate table items; ProjectE receives both, remove them from {}.",
+                    duplicated, BUNDLED_CONVERSIONS);
+        }
+    }
+
+    /**
+     * Adds other datapacks' custom conversions and ProjectE's final values, then writes the merge report.
+     */
+    public static void reportAfterStart(MinecraftServer server) {
+        // /reload closes the resource manager on the server thread, so the files are read there
+        Map<String, String> conversions = PixelEStartup.onServerThread(server, () -> readDatapackConversions(server));
+        writeReport(conversions);
+    }
+
+    /**
+     * Other datapacks' custom conversion files, by origin.
+     */
+    private static Map<String, String> readDatapackConversions(MinecraftServer server) {
+        Map<String, String> conversions = new LinkedHashMap<>();
+        Map<ResourceLocation, List<Resource>> stacks = server.getResourceManager()
+                .listResourceStacks(CONVERSIONS_DIR, location -> location.getPath().endsWith(".json"));
+        for (Map.Entry<ResourceLocation, List<Resource>> entry : stacks.entrySet()) {
+            for (Resource resource : entry.getValue()) {
+                if (resource.sourcePackId().equals("mod/" + PixelEBridge.MOD_ID)) {
+                    continue;
+                }
+                String origin = resource.sourcePackId() + " " + entry.getKey();
+                try (BufferedReader reader = resource.openAsReader()) {
+                    conversions.put(origin, reader.lines().collect(Collectors.joining("\n")));
+                } catch (IOException e) {
+                    PixelEBridge.LOGGER.warn("Failed to read custom conversions {}: {}", origin, e.getMessage());
+                }
+            }
+        }
+        return conversions;
+    }
+
+    private static synchronized void writeReport(Map<String, String> conversions) {
+        // Datapacks can change between server starts in the same game session
+        CANDIDATES.values().forEach(candidates -> candidates.removeIf(c -> c.source() == Source.DATAPACK));
+        CANDIDATES.values().removeIf(List::isEmpty);
+
+        for (Map.Entry<String, String> entry : conversions.entrySet()) {
+            try {
+                readConversions(new StringReader(entry.getValue()), Source.DATAPACK, entry.getKey());
+            } catch (RuntimeException e) {
+                PixelEBridge.LOGGER.warn("Failed to read custom conversions {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add("# Pixelmon items with more than one EMC source or a different final value in ProjectE");
+        lines.add("# Sources in precedence order: " + List.of(Source.values()));
+        for (Map.Entry<String, List<Candidate>> entry : CANDIDATES.entrySet()) {
+            List<Candidate> candidates = entry.getValue();
+            ResourceLocation location = ResourceLocation.tryBuild("pixelmon", entry.getKey());
+            long mapped = location == null ? 0 : BuiltInRegistries.ITEM.getOptional(location)
+                    .map(IEMCProxy.INSTANCE::getValue).orElse(0L);
+            if (!isConflict(candidates) && (mapped == 0 || mapped == candidates.get(0).value())) {
+                continue;
+            }
+
+            StringBuilder line = new StringBuilder(PIXELMON_PREFIX).append(entry.getKey())
+                    .append(" -> ").append(candidates.get(0).value());
+            for (Candidate candidate : candidates) {
+                line.append(" | ").append(candidate.source()).append('=').append(candidate.value())
+                        .append(" (").append(candidate.origin()).append(')');
+            }
+            if (mapped != 0) {
+                line.append(" | PROJECTE=").append(mapped);
+            }
+            lines.add(line.toString());
+        }
+
+        Path report = PixelEDiagnostics.reportFile(MERGE_REPORT);
+        try {
+            Files.createDirectories(report.getParent());
+            Files.write(report, lines);
+            PixelEBridge.LOGGER.info("Wrote EMC merge report with {} entries to {}", lines.size() - 2, report);
+        } catch (IOException e) {
+            PixelEBridge.LOGGER.warn("Failed to write merge report {}: {}", report, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the pixelmon:* item values from a ProjectE custom conversions file.
+     */
+    private static void readConversions(Reader reader, Source source, String origin) {
+        JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+        if (!root.has("values")) {
+            return;
+        }
+        JsonObject values = root.getAsJsonObject("values");
+        for (String phase : new String[]{"before", "after"}) {
+            if (!values.has(phase)) {
+                continue;
+            }
+            JsonArray entries = values.getAsJsonArray(phase);
+            for (JsonElement element : entries) {
+                JsonObject entry = element.getAsJsonObject();
+                String id = entry.has("id") ? entry.get("id").getAsString() : "";
+                if (id.startsWith(PIXELMON_PREFIX) && entry.has("emc_value")) {
+                    add(id.substring(PIXELMON_PREFIX.length()), new Candidate(source, origin, entry.get("emc_value").getAsLong()));
+                }
+            }
+        }
+    }
+
+    private static void add(String itemId, Candidate candidate) {
+        List<Candidate> candidates = CANDIDATES.computeIfAbsent(itemId, k -> new ArrayList<>(2));
+        candidates.add(candidate);
+        candidates.sort(Comparator.comparing(Candidate::source));
+    }
+
+    private static boolean isConflict(List<Candidate> candidates) {
+        for (Candidate candidate : candidates) {
+            if (candidate.value() != candidates.get(0).value()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int countTrue(boolean[] values) {
+        int count = 0;
+        for (boolean value : values) {
+            if (value) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
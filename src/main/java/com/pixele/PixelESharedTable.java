@@ -0,0 +1,290 @@
+package com.pixele;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps several servers on one EMC table by loading a signed, versioned snapshot from a shared directory.
+ *
+ * A publisher writes the table as a {@link PixelESnapshot} named after its version, then replaces
+ * a small manifest (version, snapshot file, size, SHA-256 of the snapshot, HMAC-SHA256 signature
+ * over all of them). Servers poll the manifest as a stand-in for a file watch or a real store: an
+ * unchanged modification time and size skips even reading it, and the snapshot is only mapped,
+ * hashed and applied when the version differs from the loaded one. The highest version a server has
+ * accepted is kept in pixele/shared-table-version, and older versions are rejected, so a replayed
+ * manifest cannot roll the table back, also across restarts. A snapshot that fails verification is
+ * ignored and retried on the next poll. Applying swaps one array in {@link PixelEMapper}, so readers see either
+ * the old or the new table, never a mix.
+ *
+ * Configured with -Dpixele.sharedTable=&lt;dir&gt;, -Dpixele.sharedSecret=&lt;key&gt; and optionally
+ * -Dpixele.sharedTablePoll=&lt;seconds&gt;. A snapshot loaded before InterModEnqueue is what ProjectE
+ * receives; later swaps update this mod's table and API, and reach ProjectE on the next restart.
+ */
+public class PixelESharedTable {
+
+    private static final String MANIFEST_FILE = "emc-table.properties";
+    private static final String DIRECTORY_PROPERTY = "pixele.sharedTable";
+    private static final String SECRET_PROPERTY = "pixele.sharedSecret";
+    private static final String HMAC = "HmacSHA256";
+    private static final String VERSION_FILE = "shared-table-version";
+    private static final long DEFAULT_POLL_SECONDS = 30;
+
+    /**
+     * The published table a manifest describes.
+     */
+    public record Manifest(long version, String file, long size, String sha256, String signature) {
+
+        String signedContent() {
+            return version + ":" + file + ":" + size + ":" + sha256;
+        }
+    }
+
+    private final Path directory;
+    private final byte[] secret;
+    private final Path versionFile;
+
+    // Poll state, only touched by the polling thread
+    private long manifestModified = -1;
+    private long manifestSize = -1;
+    private long acceptedVersion;
+    private volatile long loadedVersion = -1;
+
+    public PixelESharedTable(Path directory, byte[] secret) {
+        this(directory, secret, null);
+    }
+
+    /**
+     * @param versionFile where the highest accepted version is kept across restarts, or null to keep it in memory only
+     */
+    public PixelESharedTable(Path directory, byte[] secret, Path versionFile) {
+        if (secret.length == 0) {
+            throw new IllegalArgumentException("The shared table secret must not be empty");
+        }
+        this.directory = directory;
+        this.secret = secret;
+        this.versionFile = versionFile;
+        this.acceptedVersion = readAcceptedVersion(versionFile);
+    }
+
+    /**
+     * Loads the current shared table and keeps polling for new versions, when a directory is configured.
+     * Called from common setup, so the first load lands before the IMC values are sent.
+     */
+    public static void start() {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory == null) {
+            return;
+        }
+        String secret = System.getProperty(SECRET_PROPERTY);
+        if (secret == null || secret.isEmpty()) {
+            PixelEBridge.LOGGER.error("Shared EMC table configured without -D{}; snapshots cannot be verified, not loading.",
+                    SECRET_PROPERTY);
+            return;
+        }
+
+        PixelESharedTable table = new PixelESharedTable(Path.of(directory), secret.getBytes(StandardCharsets.UTF_8),
+                PixelEDiagnostics.reportFile(VERSION_FILE));
+        table.poll();
+
+        long interval = Long.getLong("pixele.sharedTablePoll", DEFAULT_POLL_SECONDS);
+        if (interval <= 0) {
+            PixelEBridge.LOGGER.warn("-Dpixele.sharedTablePoll must be a positive number of seconds, using {}.", DEFAULT_POLL_SECONDS);
+            interval = DEFAULT_POLL_SECONDS;
+        }
+        ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PixelE Shared Table");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(table::poll, interval, interval, TimeUnit.SECONDS);
+    }
+
+    public long getLoadedVersion() {
+        return loadedVersion;
+    }
+
+    /**
+     * Checks the manifest and applies a new table version if one was published.
+     *
+     * @return whether a new version was applied
+     */
+    public boolean poll() {
+        Path manifestFile = directory.resolve(MANIFEST_FILE);
+        try {
+            if (!Files.exists(manifestFile)) {
+                return false;
+            }
+            BasicFileAttributes attributes = Files.readAttributes(manifestFile, BasicFileAttributes.class);
+            long modified = attributes.lastModifiedTime().toMillis();
+            if (modified == manifestModified && attributes.size() == manifestSize) {
+                return false;
+            }
+
+            Manifest manifest = readManifest(manifestFile);
+            if (manifest.version() == loadedVersion) {
+                remember(modified, attributes.size());
+                return false;
+            }
+            if (manifest.version() < acceptedVersion) {
+                PixelEBridge.LOGGER.error("Shared EMC table version {} is older than the accepted version {}, ignoring it.",
+                        manifest.version(), acceptedVersion);
+                remember(modified, attributes.size());
+                return false;
+            }
+            if (!MessageDigest.isEqual(sign(manifest).getBytes(StandardCharsets.UTF_8),
+                    manifest.signature().getBytes(StandardCharsets.UTF_8))) {
+                PixelEBridge.LOGGER.error("Shared EMC table version {} has an invalid signature, ignoring it.", manifest.version());
+                remember(modified, attributes.size());
+                return false;
+            }
+
+            // A snapshot still being copied fails the size or hash check; the next poll retries it
+            ByteBuffer snapshot = PixelESnapshot.map(directory.resolve(manifest.file()));
+            if (snapshot.capacity() != manifest.size() || !MessageDigest.isEqual(sha256(snapshot),
+                    HexFormat.of().parseHex(manifest.sha256()))) {
+                PixelEBridge.LOGGER.warn("Shared EMC table version {} does not match its manifest yet.", manifest.version());
+                return false;
+            }
+
+            int applied = apply(snapshot);
+            remember(modified, attributes.size());
+            PixelEBridge.LOGGER.info("Loaded shared EMC table version {} ({} of {} entries), replacing version {}.",
+                    manifest.version(), applied, PixelEMapper.getConfiguredItemCount(), loadedVersion);
+            loadedVersion = manifest.version();
+            if (loadedVersion > acceptedVersion) {
+                acceptedVersion = loadedVersion;
+                writeAcceptedVersion();
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            PixelEBridge.LOGGER.warn("Failed to poll shared EMC table in {}: {}", directory, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Publishes this server's current table as the given version.
+     *
+     * @return the manifest that was written
+     */
+    public Manifest publish(long version) throws IOException {
+        String fileName = "emc-table-" + version + ".bin";
+        Path snapshotFile = directory.resolve(fileName);
+        PixelESnapshot.write(snapshotFile, false);
+
+        ByteBuffer snapshot = PixelESnapshot.map(snapshotFile);
+        Manifest unsigned = new Manifest(version, fileName, snapshot.capacity(), HexFormat.of().formatHex(sha256(snapshot)), "");
+        Manifest manifest = new Manifest(version, fileName, unsigned.size(), unsigned.sha256(), sign(unsigned));
+
+        Properties properties = new Properties();
+        properties.setProperty("version", Long.toString(manifest.version()));
+        properties.setProperty("file", manifest.file());
+        properties.setProperty("size", Long.toString(manifest.size()));
+        properties.setProperty("sha256", manifest.sha256());
+        properties.setProperty("signature", manifest.signature());
+
+        // The snapshot is complete before the manifest points at it
+        Path temp = directory.resolve(MANIFEST_FILE + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, "PixelE shared EMC table");
+        }
+        Files.move(temp, directory.resolve(MANIFEST_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return manifest;
+    }
+
+    /**
+     * Maps snapshot records onto this server's table slots by item ID and swaps them in.
+     */
+    private static int apply(ByteBuffer snapshot) {
+        long[] values = new long[PixelEMapper.getConfiguredItemCount()];
+        Arrays.fill(values, -1);
+        int applied = 0;
+        for (int record = 0; record < PixelESnapshot.recordCount(snapshot); record++) {
+            int slot = PixelEMapper.getSlot(PixelESnapshot.idAt(snapshot, record));
+            if (slot >= 0) {
+                values[slot] = PixelESnapshot.emcAt(snapshot, record);
+                applied++;
+            }
+        }
+        PixelEMapper.setSharedValues(values);
+        return applied;
+    }
+
+    private static long readAcceptedVersion(Path versionFile) {
+        if (versionFile == null || !Files.exists(versionFile)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(Files.readString(versionFile, StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            PixelEBridge.LOGGER.error("Cannot read the accepted shared EMC table version from {}: {}", versionFile, e.getMessage());
+            return -1;
+        }
+    }
+
+    private void writeAcceptedVersion() {
+        if (versionFile == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(versionFile.getParent());
+            Path temp = versionFile.resolveSibling(versionFile.getFileName() + ".tmp");
+            Files.writeString(temp, Long.toString(acceptedVersion), StandardCharsets.UTF_8);
+            Files.move(temp, versionFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            PixelEBridge.LOGGER.error("Failed to record accepted shared EMC table version in {}: {}", versionFile, e.getMessage());
+        }
+    }
+
+    private void remember(long modified, long size) {
+        manifestModified = modified;
+        manifestSize = size;
+    }
+
+    private static Manifest readManifest(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return new Manifest(Long.parseLong(properties.getProperty("version")), properties.getProperty("file"),
+                Long.parseLong(properties.getProperty("size")), properties.getProperty("sha256", ""),
+                properties.getProperty("signature", ""));
+    }
+
+    private String sign(Manifest manifest) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(secret, HMAC));
+            return HexFormat.of().formatHex(mac.doFinal(manifest.signedContent().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC unavailable", e);
+        }
+    }
+
+    private static byte[] sha256(ByteBuffer snapshot) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(snapshot.duplicate().position(0));
+            return digest.digest();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }}
@@ -0,0 +1,129 @@
+package com.pixele;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Versioned, fixed-width binary snapshot of the resolved EMC table.
+ *
+ * Layout (little-endian), so external tools can map the file and index records directly:
+ * <pre>
+ * header, 16 bytes:  int magic 'PXEM' | int version | int recordCount | int recordSize
+ * record, 80 bytes:  byte[64] item ID (UTF-8, zero-padded) | int registry index (-1 if unresolved)
+ *                    | long EMC | byte category ordinal | byte tier ordinal | 2 bytes padding
+ * </pre>
+ * Category and tier ordinals refer to {@link PixelECategory} and {@link PixelETier}. EMC is the
+ * table value this mod sends, not a datapack override ProjectE may apply on top.
+ */
+public class PixelESnapshot {
+
+    public static final int MAGIC = 0x4D455850; // "PXEM" read as little-endian bytes
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final int ID_WIDTH = 64;
+    public static final int RECORD_SIZE = 80;
+
+    private static final String SNAPSHOT_FILE = "emc-snapshot.bin";
+
+    /**
+     * Writes the snapshot to the pixele folder of the game directory.
+     *
+     * @return the written file
+     */
+    public static Path export() throws IOException {
+        Path file = PixelEDiagnostics.reportFile(SNAPSHOT_FILE);
+        write(file, true);
+        return file;
+    }
+
+    /**
+     * Writes the snapshot through a temporary file, so readers never map a half-written table.
+     *
+     * @param resolveRegistry whether to look up registry indices; false outside a running game
+     * @return the number of records written
+     */
+    public static int write(Path file, boolean resolveRegistry) throws IOException {
+        int count = PixelEMapper.getConfiguredItemCount();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(RECORD_SIZE);
+
+        for (int slot = 0; slot < count; slot++) {
+            byte[] id = PixelEMapper.getItemId(slot).getBytes(StandardCharsets.UTF_8);
+            if (id.length > ID_WIDTH) {
+                throw new IOException("Item ID longer than " + ID_WIDTH + " bytes: " + PixelEMapper.getItemId(slot));
+            }
+            int registryIndex = resolveRegistry
+                    ? PixelEMapper.resolveItem(slot).map(BuiltInRegistries.ITEM::getId).orElse(-1)
+                    : -1;
+            long emc = PixelEMapper.getEmcValue(slot);
+
+            int start = buffer.position();
+            buffer.put(id);
+            buffer.position(start + ID_WIDTH);
+            buffer.putInt(registryIndex);
+            buffer.putLong(emc);
+            buffer.put((byte) PixelEMapper.getCategory(slot).ordinal());
+            buffer.put((byte) PixelETier.of(emc).ordinal());
+            buffer.position(start + RECORD_SIZE);
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, buffer.array());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * Maps a snapshot for zero-copy reads and validates its header and length.
+     */
+    public static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not a version " + VERSION + " PixelE snapshot: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(12) != RECORD_SIZE) {
+                throw new IOException("Not a version " + VERSION + " PixelE snapshot: " + file);
+            }
+            // A truncated or padded file would make record reads fail or return garbage later
+            long expected = HEADER_SIZE + (long) recordCount(buffer) * RECORD_SIZE;
+            if (recordCount(buffer) < 0 || channel.size() != expected) {
+                throw new IOException("PixelE snapshot " + file + " is " + channel.size() + " bytes, expected " + expected);
+            }
+            return buffer;
+        }
+    }
+
+    public static int recordCount(ByteBuffer snapshot) {
+        return snapshot.getInt(8);
+    }
+
+    /**
+     * Reads the item ID of a record without moving the buffer's position.
+     */
+    public static String idAt(ByteBuffer snapshot, int record) {
+        int start = HEADER_SIZE + record * RECORD_SIZE;
+        int length = 0;
+        while (length < ID_WIDTH && snapshot.get(start + length) != 0) {
+            length++;
+        }
+        byte[] id = new byte[length];
+        snapshot.get(start, id);
+        return new String(id, StandardCharsets.UTF_8);
+    }
+
+    public static long emcAt(ByteBuffer snapshot, int record) {
+        return snapshot.getLong(HEADER_SIZE + record * RECORD_SIZE + ID_WIDTH + 4);
+    }}
@@ -0,0 +1,85 @@
+package com.pixele;
+
+import net.minecraft.server.MinecraftServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Startup critical-path mode, enabled with -Dpixele.fastStartup=true.
+ *
+ * In this mode only the work ProjectE needs happens during mod loading (the IMC sends). Summaries,
+ * conflict counts, reports and diagnostics are queued and run one after another on a low-priority
+ * background thread once the server has started, so they do not delay the server becoming joinable.
+ * Without the flag, deferred work runs immediately where it is submitted. Deferred work that reads
+ * reloadable server state (recipes, loot tables, datapack resources) does so through
+ * {@link #onServerThread}, so it never races /reload.
+ */
+public class PixelEStartup {
+
+    public static final boolean FAST_STARTUP = Boolean.getBoolean("pixele.fastStartup");
+
+    /**
+     * A named piece of deferred work.
+     */
+    private record Task(String name, Runnable work) {}
+
+    private static final List<Task> QUEUE = new ArrayList<>();
+
+    /**
+     * Runs the work now, or queues it until {@link #runDeferred()} in fast startup mode.
+     * A failure is logged in both modes and never reaches the caller.
+     */
+    public static void defer(String name, Runnable work) {
+        if (!FAST_STARTUP) {
+            run(new Task(name, work));
+            return;
+        }
+        synchronized (QUEUE) {
+            QUEUE.add(new Task(name, work));
+        }
+    }
+
+    /**
+     * Runs a read on the server thread and waits for its result, or runs it directly when already there.
+     * Callers must not hold a lock the server thread may need while waiting.
+     */
+    public static <T> T onServerThread(MinecraftServer server, Supplier<T> read) {
+        return server.isSameThread() ? read.get() : server.submit(read).join();
+    }
+
+    /**
+     * Drains the queue on a background thread. Called once the server has started.
+     */
+    public static void runDeferred() {
+        List<Task> tasks;
+        synchronized (QUEUE) {
+            if (QUEUE.isEmpty()) {
+                return;
+            }
+            tasks = new ArrayList<>(QUEUE);
+            QUEUE.clear();
+        }
+
+        Thread thread = new Thread(() -> {
+            long start = System.nanoTime();
+            for (Task task : tasks) {
+                run(task);
+            }
+            PixelEBridge.LOGGER.info("Ran {} deferred startup tasks in {} ms",
+                    tasks.size(), (System.nanoTime() - start) / 1_000_000);
+        }, "PixelE Deferred Startup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    private static void run(Task task) {
+        try {
+            task.work().run();
+        } catch (RuntimeException e) {
+            PixelEBridge.LOGGER.warn("Deferred startup task '{}' failed", task.name(), e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.pixele;
+
+/**
+ * Rarity tiers by EMC value, matching the ranges documented on {@link PixelEMapper}.
+ */
+public enum PixelETier {
+    COMMON(0),
+    UNCOMMON(1024),
+    RARE(8192),
+    VERY_RARE(65536),
+    ULTRA_RARE(262144),
+    LEGENDARY(1048576);
+
+    private static final PixelETier[] VALUES = values();
+
+    private final long minEmc;
+
+    PixelETier(long minEmc) {
+        this.minEmc = minEmc;
+    }
+
+    public long getMinEmc() {
+        return minEmc;
+    }
+
+    /**
+     * Readable name, e.g. "Very Rare".
+     */
+    public String getDisplayName() {
+        StringBuilder name = new StringBuilder();
+        for (String word : name().split("_")) {
+            name.append(name.isEmpty() ? "" : " ").append(word.charAt(0)).append(word.substring(1).toLowerCase());
+        }
+        return name.toString();
+    }
+
+    /**
+     * Gets the tier an EMC value falls into.
+     */
+    public static PixelETier of(long emc) {
+        for (int i = VALUES.length - 1; i > 0; i--) {
+            if (emc >= VALUES[i].minEmc) {
+                return VALUES[i];
+            }
+        }
+        return COMMON;
+    }
+
+    public static PixelETier byOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,139 @@
+package com.pixele;
+
+import moze_intel.projecte.api.ItemInfo;
+import moze_intel.projecte.api.event.EMCRemapEvent;
+import moze_intel.projecte.api.proxy.IEMCProxy;
+import net.minecraft.ChatFormatting;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.component.CustomData;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.entity.player.ItemTooltipEvent;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client-side rarity tier line on Pixelmon item tooltips, backed by a cache of EMC values.
+ *
+ * Tooltips are rebuilt every frame while hovering. Stacks without components are looked up in an
+ * array indexed by item registry ID. Component variants (TMs with custom_data, variant balls) are
+ * cached per stack instance in a small direct-mapped table, checked against the stack's custom data
+ * instance and damage so an in-place edit or a worn tool is noticed. A hovered variant costs an identity hash and two reference
+ * compares instead of building an ItemInfo and running ProjectE's NBT processing. Both caches are
+ * dropped when the server pushes new EMC values or the client disconnects.
+ */
+public class PixelETooltips {
+
+    // Power of two, so a variant's cache index is its identity hash masked
+    private static final int VARIANT_SLOTS = 256;
+    private static final long UNKNOWN = -1;
+
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    // Guarded by the class lock: JEI and EMI build tooltips on worker threads as well as the render thread.
+    // Invalidation goes through GENERATION, so it never waits for the lock.
+    private static int cachedGeneration = -1;
+    private static long[] valuesByRegistryId = new long[0];
+    private static final ItemStack[] VARIANT_STACKS = new ItemStack[VARIANT_SLOTS];
+    private static final CustomData[] VARIANT_DATA = new CustomData[VARIANT_SLOTS];
+    private static final int[] VARIANT_DAMAGE = new int[VARIANT_SLOTS];
+    private static final long[] VARIANT_VALUES = new long[VARIANT_SLOTS];
+
+    /**
+     * Registers the client listeners. Only called on the physical client.
+     */
+    public static void register() {
+        NeoForge.EVENT_BUS.addListener(PixelETooltips::onItemTooltip);
+        NeoForge.EVENT_BUS.addListener(PixelETooltips::onEmcRemap);
+        NeoForge.EVENT_BUS.addListener(PixelETooltips::onLoggingOut);
+    }
+
+    /**
+     * Drops every cached value. Safe to call from any thread.
+     */
+    public static void invalidate() {
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * The EMC value ProjectE reports for this stack, cached per item and per variant stack.
+     * Safe to call from any thread.
+     */
+    public static long emcOf(ItemStack stack) {
+        int registryId = BuiltInRegistries.ITEM.getId(stack.getItem());
+        boolean plain = stack.isComponentsPatchEmpty();
+        CustomData data = plain ? null : stack.get(DataComponents.CUSTOM_DATA);
+        // ProjectE lowers the value of damaged items, so damage is part of the variant
+        int damage = plain ? 0 : stack.getDamageValue();
+        int index = System.identityHashCode(stack) & (VARIANT_SLOTS - 1);
+
+        int generation;
+        synchronized (PixelETooltips.class) {
+            generation = GENERATION.get();
+            if (generation != cachedGeneration) {
+                valuesByRegistryId = new long[BuiltInRegistries.ITEM.size()];
+                Arrays.fill(valuesByRegistryId, UNKNOWN);
+                Arrays.fill(VARIANT_STACKS, null);
+                Arrays.fill(VARIANT_DATA, null);
+                cachedGeneration = generation;
+            }
+            if (plain && valuesByRegistryId[registryId] != UNKNOWN) {
+                return valuesByRegistryId[registryId];
+            }
+            if (!plain && VARIANT_STACKS[index] == stack && VARIANT_DATA[index] == data && VARIANT_DAMAGE[index] == damage) {
+                return VARIANT_VALUES[index];
+            }
+        }
+
+        // ProjectE is queried outside the lock; a value computed across an invalidation is not kept
+        long value = plain ? IEMCProxy.INSTANCE.getValue(stack.getItem()) : IEMCProxy.INSTANCE.getValue(ItemInfo.fromStack(stack));
+        synchronized (PixelETooltips.class) {
+            if (cachedGeneration == generation && GENERATION.get() == generation) {
+                if (plain) {
+                    valuesByRegistryId[registryId] = value;
+                } else {
+                    VARIANT_STACKS[index] = stack;
+                    VARIANT_DATA[index] = data;
+                    VARIANT_DAMAGE[index] = damage;
+                    VARIANT_VALUES[index] = value;
+                }
+            }
+        }
+        return value;
+    }
+
+    private static void onItemTooltip(ItemTooltipEvent event) {
+        ItemStack stack = event.getItemStack();
+        if (stack.isEmpty() || !BuiltInRegistries.ITEM.getKey(stack.getItem()).getNamespace().equals("pixelmon")) {
+            return;
+        }
+        long emc = emcOf(stack);
+        if (emc > 0) {
+            PixelETier tier = PixelETier.of(emc);
+            event.getToolTip().add(Component.literal("EMC tier: " + tier.getDisplayName()).withStyle(color(tier)));
+        }
+    }
+
+    private static void onEmcRemap(EMCRemapEvent event) {
+        invalidate();
+    }
+
+    private static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        invalidate();
+    }
+
+    private static ChatFormatting color(PixelETier tier) {
+        return switch (tier) {
+            case COMMON -> ChatFormatting.WHITE;
+            case UNCOMMON -> ChatFormatting.GREEN;
+            case RARE -> ChatFormatting.BLUE;
+            case VERY_RARE -> ChatFormatting.DARK_PURPLE;
+            case ULTRA_RARE -> ChatFormatting.LIGHT_PURPLE;
+            case LEGENDARY -> ChatFormatting.GOLD;
+        };
+    }
+}
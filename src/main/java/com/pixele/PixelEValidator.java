@@ -0,0 +1,146 @@
+package com.pixele;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Declarative value invariants over the mapper table, checked in parallel.
+ *
+ * Each invariant matches table IDs with a pattern and relates the matched entry to partner entries
+ * named by the pattern's groups. Entries without a partner in the table are skipped, so an invariant
+ * only constrains values that actually exist. Every (invariant, slot) pair is checked independently,
+ * which lets the whole table be validated as one parallel stream.
+ */
+public class PixelEValidator {
+
+    /**
+     * A broken invariant for one table entry.
+     */
+    public record Violation(String invariant, String itemId, String message) {}
+
+    /**
+     * A rule over table entries. The check returns a message when the entry in a slot breaks it, otherwise null.
+     */
+    private record Invariant(String name, IntFunction<String> check) {}
+
+    private static final List<Invariant> INVARIANTS = List.of(
+            multipleOf("storage blocks are 9x their material", "(.+)_block", 9, "$1_ingot", "$1"),
+            greaterThan("cooked apricorns are worth more than raw", "cooked_(.+_apricorn)", "$1"),
+            ascending("armor sets ascend boots < helmet < leggings < chestplate", "(.+)_(boots|helmet|leggings|chestplate)",
+                    "boots", "helmet", "leggings", "chestplate")
+    );
+
+    /**
+     * Checks every invariant against every table slot.
+     *
+     * @return the violations, ordered by invariant and item ID
+     */
+    public static List<Violation> validate() {
+        // Initialize the table on this thread before the workers read it
+        int slots = PixelEMapper.getConfiguredItemCount();
+        // One flat range over (invariant, slot) pairs: a parallel stream nested in flatMap runs sequentially
+        return IntStream.range(0, INVARIANTS.size() * slots).parallel()
+                .mapToObj(pair -> {
+                    Invariant invariant = INVARIANTS.get(pair / slots);
+                    int slot = pair % slots;
+                    String message = invariant.check().apply(slot);
+                    return message == null ? null : new Violation(invariant.name(), PixelEMapper.getItemId(slot), message);
+                })
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(Violation::invariant).thenComparing(Violation::itemId))
+                .toList();
+    }
+
+    /**
+     * Logs the violations.
+     *
+     * @return the number of violations
+     */
+    public static int report(List<Violation> violations) {
+        for (Violation violation : violations) {
+            PixelEBridge.LOGGER.warn("EMC invariant '{}' broken by {}: {}", violation.invariant(), violation.itemId(), violation.message());
+        }
+        if (violations.isEmpty()) {
+            PixelEBridge.LOGGER.info("All {} EMC invariants hold.", INVARIANTS.size());
+        }
+        return violations.size();
+    }
+
+    /**
+     * Matching entries are exactly factor x the first partner found in the table.
+     */
+    private static Invariant multipleOf(String name, String regex, long factor, String... partners) {
+        Pattern pattern = Pattern.compile(regex);
+        return new Invariant(name, slot -> {
+            Matcher matcher = pattern.matcher(PixelEMapper.getItemId(slot));
+            int partner = matcher.matches() ? firstPresent(matcher, partners) : -1;
+            if (partner < 0) {
+                return null;
+            }
+            long expected = factor * PixelEMapper.getEmcValue(partner);
+            long actual = PixelEMapper.getEmcValue(slot);
+            return actual == expected ? null
+                    : actual + " != " + factor + " x " + PixelEMapper.getItemId(partner) + " (" + expected + ")";
+        });
+    }
+
+    /**
+     * Matching entries are worth strictly more than their partner.
+     */
+    private static Invariant greaterThan(String name, String regex, String partnerTemplate) {
+        Pattern pattern = Pattern.compile(regex);
+        return new Invariant(name, slot -> {
+            Matcher matcher = pattern.matcher(PixelEMapper.getItemId(slot));
+            int partner = matcher.matches() ? firstPresent(matcher, partnerTemplate) : -1;
+            if (partner < 0 || PixelEMapper.getEmcValue(slot) > PixelEMapper.getEmcValue(partner)) {
+                return null;
+            }
+            return PixelEMapper.getEmcValue(slot) + " <= " + PixelEMapper.getItemId(partner)
+                    + " (" + PixelEMapper.getEmcValue(partner) + ")";
+        });
+    }
+
+    /**
+     * Entries sharing group 1 are strictly ascending in the given order of group 2. Each entry is
+     * compared with the next piece of its set that exists in the table.
+     */
+    private static Invariant ascending(String name, String regex, String... order) {
+        Pattern pattern = Pattern.compile(regex);
+        List<String> pieces = List.of(order);
+        return new Invariant(name, slot -> {
+            Matcher matcher = pattern.matcher(PixelEMapper.getItemId(slot));
+            if (!matcher.matches()) {
+                return null;
+            }
+            for (int i = pieces.indexOf(matcher.group(2)) + 1; i < pieces.size(); i++) {
+                int next = PixelEMapper.getSlot(matcher.group(1) + "_" + pieces.get(i));
+                if (next < 0) {
+                    continue;
+                }
+                if (PixelEMapper.getEmcValue(slot) < PixelEMapper.getEmcValue(next)) {
+                    return null;
+                }
+                return PixelEMapper.getEmcValue(slot) + " >= " + PixelEMapper.getItemId(next)
+                        + " (" + PixelEMapper.getEmcValue(next) + ")";
+            }
+            return null;
+        });
+    }
+
+    /**
+     * The slot of the first partner ID (a replacement template over the match) that is in the table.
+     */
+    private static int firstPresent(Matcher matcher, String... templates) {
+        for (String template : templates) {
+            int slot = PixelEMapper.getSlot(matcher.replaceFirst(template));
+            if (slot >= 0) {
+                return slot;
+            }
+        }
+        return -1;
+    }}
@@ -0,0 +1,41 @@
+package com.pixele.api;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ServiceLoader;
+
+/**
+ * Stable lookup API for the EMC values PixelE Bridge assigns to Pixelmon items.
+ *
+ * Lookups do not allocate or hash strings, so they are safe to call per slot per GUI refresh.
+ * Values are available from common setup onwards; items that are not Pixelmon items, or that
+ * this mod does not value, return 0. Values are this mod's table, including shared tables and
+ * category multipliers; a datapack that overrides an item in ProjectE does not change them.
+ */
+public interface PixelEEMCApi {
+
+    PixelEEMCApi INSTANCE = ServiceLoader.load(PixelEEMCApi.class, PixelEEMCApi.class.getClassLoader())
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("No PixelEEMCApi implementation found"));
+
+    /**
+     * Gets the EMC value of an item, or 0 if PixelE Bridge does not value it.
+     */
+    long emcOf(Item item);
+
+    /**
+     * Gets the EMC value of a single item of the stack, or 0 for empty stacks.
+     * Damaged items are scaled by their remaining durability, as ProjectE does. Other components,
+     * including custom data such as a TM's move, do not change the value: those variants report
+     * their plain item's value.
+     */
+    long emcOf(ItemStack stack);
+
+    /**
+     * Bulk lookup: writes the value of items[i] into out[i].
+     *
+     * @throws IllegalArgumentException if out is shorter than items
+     */
+    void emcOf(Item[] items, long[] out);
+}
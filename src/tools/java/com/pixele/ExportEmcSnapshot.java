@@ -0,0 +1,16 @@
+package com.pixele;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Headless export for the exportEmcSnapshot Gradle task. Registry indices are -1 since no game is running.
+ */
+public class ExportEmcSnapshot {
+
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : "emc-snapshot.bin");
+        int count = PixelESnapshot.write(file, false);
+        System.out.println("Wrote " + count + " EMC records to " + file.toAbsolutePath());
+    }
+}
@@ -0,0 +1,243 @@
+package com.pixele;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Streams the item catalogs in docs/ and drafts EMC entries for Pixelmon items the mapper does not value yet.
+ *
+ * Two line formats are understood:
+ * - docs/items version2.txt: "icon+Display Name TAB id [TAB component data]"
+ * - docs/items.txt: section headings ("Berries") followed by "icon+Display Name" lines, whose ID is
+ *   derived from the display name
+ *
+ * Each entry is classified into a {@link PixelECategory} by ordered ID rules, falling back to the
+ * items.txt section heading, and gets that category's median table value as its draft EMC. The
+ * drafts are written in the mapper's own addItem format, grouped by category, ready for review.
+ */
+public class PixelEImporter {
+
+    /**
+     * An ID pattern and the category it implies. Rules are tried in order.
+     */
+    private record Rule(Pattern pattern, PixelECategory category) {}
+
+    /**
+     * An unvalued item found in a catalog.
+     */
+    public record Draft(String itemId, String displayName, PixelECategory category, long emc, String source, int variants) {}
+
+    private static final List<Rule> RULES = List.of(
+            rule("^(tm|hm|tr)(_|\\d)", PixelECategory.TMS),
+            rule("_apricorn$", PixelECategory.APRICORNS),
+            rule("_ore$", PixelECategory.RAW_ORES),
+            rule("_shard$|^(aluminum|silver|platinum|silicon|amethyst|crystal|ruby|sapphire)(_(ingot|block|plate))?$",
+                    PixelECategory.PROCESSED_MATERIALS),
+            rule("_(helmet|chestplate|leggings|boots)$", PixelECategory.ARMOR),
+            rule("_(pickaxe|axe|shovel|hoe|sword|hammer)$", PixelECategory.TOOLS),
+            rule("_ball_lid$|_base$", PixelECategory.BALL_PARTS),
+            rule("_ball$", PixelECategory.POKE_BALLS),
+            rule("_stone$", PixelECategory.EVOLUTION_STONES),
+            rule("_fossil$", PixelECategory.FOSSILS),
+            rule("_berry$", PixelECategory.BERRIES),
+            rule("^mint_", PixelECategory.MINTS),
+            rule("_incense$", PixelECategory.INCENSES),
+            rule("_gem$", PixelECategory.TYPE_GEMS),
+            rule("(?<!pressure)_plate$", PixelECategory.ARCEUS_PLATES),
+            rule("_drive$", PixelECategory.GENESECT_DRIVES),
+            rule("ium_z$", PixelECategory.Z_CRYSTALS),
+            rule("^(?!white$)[a-z]+ite(_[xy])?$", PixelECategory.MEGA_STONES),
+            rule("repel$", PixelECategory.REPELS),
+            rule("potion$|_heal$|revive|ether$|elixir$|_restore$", PixelECategory.MEDICINE)
+    );
+
+    // items.txt section headings that imply a category when no ID rule matches
+    private static final Map<String, PixelECategory> SECTIONS = Map.ofEntries(
+            Map.entry("poké balls", PixelECategory.POKE_BALLS),
+            Map.entry("poké ball parts", PixelECategory.BALL_PARTS),
+            Map.entry("resources", PixelECategory.PROCESSED_MATERIALS),
+            Map.entry("tools/armor", PixelECategory.TOOLS),
+            Map.entry("machines", PixelECategory.MACHINES),
+            Map.entry("machine parts", PixelECategory.MACHINES),
+            Map.entry("fossils", PixelECategory.FOSSILS),
+            Map.entry("medicine", PixelECategory.MEDICINE),
+            Map.entry("berries", PixelECategory.BERRIES),
+            Map.entry("mints", PixelECategory.MINTS),
+            Map.entry("incenses", PixelECategory.INCENSES),
+            Map.entry("gems", PixelECategory.TYPE_GEMS),
+            Map.entry("plates", PixelECategory.ARCEUS_PLATES),
+            Map.entry("drives", PixelECategory.GENESECT_DRIVES),
+            Map.entry("held items", PixelECategory.HELD_ITEMS),
+            Map.entry("evolutionary items", PixelECategory.EVOLUTION_ITEMS),
+            Map.entry("valuable items", PixelECategory.VALUABLES),
+            Map.entry("mega stones", PixelECategory.MEGA_STONES),
+            Map.entry("tms/hms", PixelECategory.TMS)
+    );
+
+    private static final Pattern ICON_PREFIX = Pattern.compile("^(?:.*?\\.png|16px)");
+    private static final Pattern NON_ID_CHARS = Pattern.compile("[^a-z0-9]+");
+
+    private final Map<PixelECategory, Long> draftValues = new EnumMap<>(PixelECategory.class);
+    private final Map<String, Draft> drafts = new LinkedHashMap<>();
+    private final Set<String> seen = new HashSet<>();
+    private final Set<String> seenNames = new HashSet<>();
+    private int unclassified;
+
+    public PixelEImporter() {
+        Map<PixelECategory, List<Long>> byCategory = new EnumMap<>(PixelECategory.class);
+        for (int slot = 0; slot < PixelEMapper.getConfiguredItemCount(); slot++) {
+            byCategory.computeIfAbsent(PixelEMapper.getCategory(slot), k -> new ArrayList<>()).add(PixelEMapper.getEmcValue(slot));
+        }
+        for (Map.Entry<PixelECategory, List<Long>> entry : byCategory.entrySet()) {
+            long[] values = entry.getValue().stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(values);
+            draftValues.put(entry.getKey(), values[values.length / 2]);
+        }
+    }
+
+    /**
+     * Streams one catalog file. Can be called for several files; IDs already drafted or valued are skipped.
+     */
+    public void importFile(Path file) throws IOException {
+        String section = "";
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (String line; (line = reader.readLine()) != null; ) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("Item\tID")) {
+                    continue;
+                }
+
+                String[] columns = line.split("\t");
+                boolean hasIcon = ICON_PREFIX.matcher(columns[0]).find();
+                if (columns.length == 1 && !hasIcon) {
+                    // A section heading in items.txt, or a stray data-only line in version2
+                    if (!columns[0].contains("=")) {
+                        section = columns[0].trim().toLowerCase();
+                    }
+                    continue;
+                }
+
+                String displayName = ICON_PREFIX.matcher(columns[0]).replaceFirst("").trim();
+                String nameKey = toItemId(displayName);
+                boolean derivedId = columns.length == 1;
+                String itemId = derivedId ? nameKey : columns[1].trim();
+                if (itemId.isEmpty() || (derivedId && displayName.contains(":"))) {
+                    // Named TMs ("TM01: Hone Claws") carry no item ID of their own
+                    continue;
+                }
+                // A derived ID is only a guess; prefer the real ID from a catalog that lists one
+                if (!seenNames.add(nameKey) && derivedId) {
+                    continue;
+                }
+                accept(itemId, displayName, section, file.getFileName() + ":" + lineNumber);
+            }
+        }
+    }
+
+    /**
+     * Writes the drafts in the mapper's addItem format, grouped by category.
+     */
+    public void writeDrafts(Path output) throws IOException {
+        Map<PixelECategory, List<Draft>> grouped = new EnumMap<>(PixelECategory.class);
+        for (Draft draft : drafts.values()) {
+            grouped.computeIfAbsent(draft.category(), k -> new ArrayList<>()).add(draft);
+        }
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writer.write("        // Draft EMC entries imported from the docs item catalogs. Values are category medians; review before use.\n");
+            for (Map.Entry<PixelECategory, List<Draft>> entry : grouped.entrySet()) {
+                writer.write("        \n");
+                writer.write("        // ==================== " + entry.getKey().name().replace('_', ' ') + " (imported drafts) ====================\n");
+                writer.write("        category(PixelECategory." + entry.getKey().name() + ");\n");
+                for (Draft draft : entry.getValue()) {
+                    writer.write("        addItem(\"" + draft.itemId() + "\", " + draft.emc() + ");  // " + draft.displayName()
+                            + (draft.variants() > 1 ? ", " + draft.variants() + " component variants" : "")
+                            + " (" + draft.source() + ")\n");
+                }
+            }
+        }
+    }
+
+    public Map<String, Draft> getDrafts() {
+        return drafts;
+    }
+
+    public int getUnclassifiedCount() {
+        return unclassified;
+    }
+
+    private void accept(String itemId, String displayName, String section, String source) {
+        Draft existing = drafts.get(itemId);
+        if (existing != null) {
+            // Component variants (TMs, balls with data) share one item ID
+            drafts.put(itemId, new Draft(itemId, existing.displayName(), existing.category(), existing.emc(),
+                    existing.source(), existing.variants() + 1));
+            return;
+        }
+        if (!seen.add(itemId) || PixelEMapper.getSlot(itemId) >= 0) {
+            return;
+        }
+
+        PixelECategory category = classify(itemId, section);
+        if (category == null) {
+            unclassified++;
+            return;
+        }
+        drafts.put(itemId, new Draft(itemId, displayName, category, draftValues.getOrDefault(category, 1024L), source, 1));
+    }
+
+    private static PixelECategory classify(String itemId, String section) {
+        for (Rule rule : RULES) {
+            if (rule.pattern().matcher(itemId).find()) {
+                return rule.category();
+            }
+        }
+        return SECTIONS.get(section);
+    }
+
+    /**
+     * Derives an item ID from a display name: "Poké Ball Lid" becomes "poke_ball_lid".
+     */
+    static String toItemId(String displayName) {
+        String ascii = Normalizer.normalize(displayName, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        String id = NON_ID_CHARS.matcher(ascii.toLowerCase()).replaceAll("_");
+        return id.replaceAll("^_+|_+$", "");
+    }
+
+    private static Rule rule(String regex, PixelECategory category) {
+        return new Rule(Pattern.compile(regex), category);
+    }
+
+    /**
+     * Entry point for the importItemDocs Gradle task: output file followed by the catalogs to read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: PixelEImporter <output> <catalog>...");
+            return;
+        }
+        PixelEImporter importer = new PixelEImporter();
+        for (int i = 1; i < args.length; i++) {
+            importer.importFile(Path.of(args[i]));
+        }
+        importer.writeDrafts(Path.of(args[0]));
+        System.out.println("Drafted " + importer.getDrafts().size() + " EMC entries ("
+                + importer.getUnclassifiedCount() + " unclassified items skipped) to " + args[0]);
+    }
+}
@@ -0,0 +1,24 @@
+package com.pixele;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Entry point for the publishEmcTable Gradle task: shared directory, version and secret.
+ */
+public class PublishEmcTable {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args[2].isEmpty()) {
+            System.err.println("Usage: PublishEmcTable <directory> <version> <secret>");
+            System.exit(1);
+        }
+        Path directory = Path.of(args[0]);
+        Files.createDirectories(directory);
+        PixelESharedTable.Manifest manifest = new PixelESharedTable(directory, args[2].getBytes(StandardCharsets.UTF_8))
+                .publish(Long.parseLong(args[1]));
+        System.out.println("Published EMC table version " + manifest.version() + " to " + directory.resolve(manifest.file()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.pixele;
+
+/**
+ * Entry point for the validateEmc Gradle task. Exits non-zero when an invariant is broken.
+ */
+public class ValidateEmc {
+
+    public static void main(String[] args) {
+        int broken = PixelEValidator.report(PixelEValidator.validate());
+        if (broken > 0) {
+            System.err.println(broken + " EMC invariant violations");
+            System.exit(1);
+        }
+        System.out.println("EMC invariants hold for " + PixelEMapper.getConfiguredItemCount() + " entries");
+    }
+}